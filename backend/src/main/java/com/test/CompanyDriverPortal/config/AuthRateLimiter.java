@@ -0,0 +1,86 @@
+package com.test.CompanyDriverPortal.config;
+
+import com.test.CompanyDriverPortal.globalException.TooManyRequestsException;
+import com.test.CompanyDriverPortal.util.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Throttles /api/auth by client IP and by username before any password hashing happens
+@Component
+public class AuthRateLimiter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.rate-limit.max-keys:100000}") // Upper bound on tracked IPs/usernames per limiter
+    private int maxKeys;
+
+    @Value("${auth.rate-limit.sweep-interval:PT1M}") // How often idle buckets are evicted
+    private Duration sweepInterval;
+
+    @Value("${auth.rate-limit.ip.requests-per-minute:60}")
+    private int ipRequestsPerMinute;
+
+    @Value("${auth.rate-limit.ip.burst:20}")
+    private int ipBurst;
+
+    @Value("${auth.rate-limit.username.requests-per-minute:10}")
+    private int usernameRequestsPerMinute;
+
+    @Value("${auth.rate-limit.username.burst:5}")
+    private int usernameBurst;
+
+    private TokenBucketRateLimiter ipLimiter;
+    private TokenBucketRateLimiter usernameLimiter;
+    private Counter ipThrottledCounter;
+    private Counter usernameThrottledCounter;
+
+    @PostConstruct
+    void init() {
+        ipLimiter = new TokenBucketRateLimiter(ipRequestsPerMinute, ipBurst, maxKeys, sweepInterval);
+        usernameLimiter = new TokenBucketRateLimiter(usernameRequestsPerMinute, usernameBurst, maxKeys, sweepInterval);
+
+        ipThrottledCounter = Counter.builder("auth.rate-limit.throttled").tag("key", "ip").register(meterRegistry);
+        usernameThrottledCounter = Counter.builder("auth.rate-limit.throttled").tag("key", "username").register(meterRegistry);
+        Gauge.builder("auth.rate-limit.buckets", ipLimiter, TokenBucketRateLimiter::size).tag("key", "ip").register(meterRegistry);
+        Gauge.builder("auth.rate-limit.buckets", usernameLimiter, TokenBucketRateLimiter::size).tag("key", "username").register(meterRegistry);
+    }
+
+    // Take one token for the client IP and one for the username, throwing a 429 when either bucket is empty
+    public void check(String clientIp, String username) {
+        if (!enabled) {
+            return;
+        }
+
+        long waitNanos = ipLimiter.tryAcquire(clientIp);
+        if (waitNanos > 0) {
+            ipThrottledCounter.increment();
+            throw tooManyRequests(waitNanos);
+        }
+
+        if (username != null && !username.isBlank()) {
+            waitNanos = usernameLimiter.tryAcquire(username.trim().toLowerCase(Locale.ROOT));
+            if (waitNanos > 0) {
+                usernameThrottledCounter.increment();
+                throw tooManyRequests(waitNanos);
+            }
+        }
+    }
+
+    private TooManyRequestsException tooManyRequests(long waitNanos) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new TooManyRequestsException("Too many authentication attempts, please retry later", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,32 @@
+package com.test.CompanyDriverPortal.config;
+
+import com.test.CompanyDriverPortal.model.User;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+
+// Spring Security principal that carries the whole user record, so whoever authenticates the user
+// (e.g. the login flow) already has the id, email and role without reading the users table again
+@Getter
+public class AuthenticatedUser extends org.springframework.security.core.userdetails.User {
+
+    private final Long id;
+    private final String email;
+    private final User.Role role;
+    private final int tokenEpoch;
+    private final boolean active;
+
+    public AuthenticatedUser(User user) {
+        super(
+                user.getUsername(),
+                user.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
+        );
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.role = user.getRole();
+        this.tokenEpoch = user.getTokenEpoch();
+        this.active = user.isActive();
+    }
+}
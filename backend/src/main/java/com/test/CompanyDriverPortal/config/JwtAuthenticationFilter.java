@@ -5,7 +5,9 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -26,6 +29,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    // In-process copy of each user's role and active flag, used instead of the database in stateless mode
+    @Autowired
+    private UserStateCache userStateCache;
+
+    // Per-user token epochs, used to reject tokens issued before a role change or delete
+    @Autowired
+    private TokenEpochTable tokenEpochTable;
+
+    // Build the principal from the token claims instead of loading the user on every request
+    @Value("${jwt.stateless-auth:true}")
+    private boolean statelessAuth;
+
     // Filter method to process incoming requests
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -34,24 +49,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Get the Authorization header from the request
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        TokenClaims claims = null;
 
-        // Extract JWT token from Authorization header
+        // Extract JWT token from Authorization header and verify it once for the whole request
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                claims = jwtUtil.parseToken(jwt);
             } catch (Exception e) {
                 logger.error("Error extracting username from token: " + e.getMessage());
             }
         }
 
         // Validate token and set authentication
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null
+                && tokenEpochTable.isCurrent(claims.getUserId(), claims.getTokenEpoch())) {
+            UserDetails userDetails = statelessAuth
+                    ? buildUserDetailsFromClaims(claims)
+                    : userDetailsService.loadUserByUsername(claims.getUsername());
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (userDetails != null && jwtUtil.validateToken(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authenticationToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -60,4 +77,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    // Build the principal from the token's sub and role claims, checked against the cached user state.
+    // Returns null when the user no longer exists, is inactive, or the token carries a role that is out of date.
+    private UserDetails buildUserDetailsFromClaims(TokenClaims claims) {
+        UserState state = userStateCache.get(claims.getUsername());
+        if (state == null || !state.isActive() || !state.getRole().name().equals(claims.getRole())) {
+            return null;
+        }
+
+        return new org.springframework.security.core.userdetails.User(
+                state.getUsername(),
+                "", // credentials are never needed after the token has been verified
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + state.getRole().name()))
+        );
+    }
+}
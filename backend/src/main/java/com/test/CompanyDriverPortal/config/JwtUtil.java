@@ -1,17 +1,30 @@
 package com.test.CompanyDriverPortal.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
@@ -23,19 +36,82 @@ public class JwtUtil {
     @Value("${jwt.expiration}") // 24 hours
     private Long expiration;
 
-    // Generate a signing key from the secret
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)); // Use HMAC SHA-256 algorithm for signing (HS256)
+    @Value("${jwt.verified-cache.max-size:10000}") // Upper bound on the number of verified tokens kept in memory
+    private long verifiedCacheMaxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+
+    private JwtParser jwtParser;
+
+    // Already-verified tokens keyed by their SHA-256 digest, each entry expires together with its token
+    private Cache<String, TokenClaims> verifiedTokens;
+
+    private Timer verificationTimer;
+
+    // Build the signing key, the parser and the verified-token cache once instead of on every call
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)); // Use HMAC SHA-256 algorithm for signing (HS256)
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, TokenClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+                        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TokenClaims claims, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, claims, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TokenClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        // Exposes cache.gets{result=hit|miss}, cache.size and cache.evictions under the "jwt.verified-tokens" cache name
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+
+        // Time spent on signature verification, i.e. the CPU a cache hit saves
+        verificationTimer = Timer.builder("jwt.verification")
+                .description("Time spent parsing and HMAC-verifying tokens that were not in the verified-token cache")
+                .register(meterRegistry);
+    }
+
+    // Parse and verify the token once, or return the claims of an identical token verified earlier
+    public TokenClaims parseToken(String token) {
+        String cacheKey = digest(token);
+
+        TokenClaims cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        TokenClaims claims = verificationTimer.record(() -> toTokenClaims(extractAllClaims(token)));
+        verifiedTokens.put(cacheKey, claims);
+        return claims;
     }
 
     // Extract username and expiration from the token
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).getUsername();
     }
 
     // Extract expiration date from the token
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return parseToken(token).getExpiration();
     }
 
     // Generic method to extract any claim using a resolver function
@@ -45,22 +121,40 @@ public class JwtUtil {
 
     // Extract all claims from the token
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
-    // Check if the token has expired
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private TokenClaims toTokenClaims(Claims claims) {
+        Number userId = claims.get("uid", Number.class);
+        Number tokenEpoch = claims.get("epoch", Number.class);
+        return new TokenClaims(
+                userId != null ? userId.longValue() : null,
+                claims.getSubject(),
+                claims.get("role", String.class),
+                tokenEpoch != null ? tokenEpoch.intValue() : null,
+                claims.getIssuedAt(),
+                claims.getExpiration()
+        );
     }
 
-    // Generate a token for a user with their role as a claim
-    public String generateToken(String username, String role) {
+    // Hash the token so the cache never holds usable bearer tokens and keys stay a fixed size
+    private String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Generate a token for a user with their id, role and current token epoch as claims
+    public String generateToken(Long userId, String username, String role, int tokenEpoch) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put("uid", userId);
         claims.put("role", role);
+        claims.put("epoch", tokenEpoch);
         return createToken(claims, username);
     }
 
@@ -71,13 +165,17 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey()) // signature algorithm is determined by the key type
+                .signWith(signingKey) // signature algorithm is determined by the key type
                 .compact();
     }
 
+    // Validate already-parsed claims by checking the username and expiration
+    public boolean validateToken(TokenClaims claims, UserDetails userDetails) {
+        return claims.getUsername().equals(userDetails.getUsername()) && !claims.isExpired();
+    }
+
     // Validate the token by checking the username and expiration
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return validateToken(parseToken(token), userDetails);
     }
 }
@@ -0,0 +1,71 @@
+package com.test.CompanyDriverPortal.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+// Caffeine-backed JCache regions for the Hibernate second-level cache. Every region named on an entity's
+// @Cache/@NaturalIdCache is created here with its own size and TTL (second-level-cache.regions.<name>,
+// falling back to second-level-cache.default); Hibernate is told to fail on any region not in this list.
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final List<String> REGIONS = List.of(
+            "users", "users-natural-id",
+            "drivers", "driver-details", "drivers-natural-id", "driver-read-model",
+            "companies", "company-details", "companies-natural-id", "company-read-model"
+    );
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${second-level-cache.default.max-size:10000}")
+    private long defaultMaxSize;
+
+    @Value("${second-level-cache.default.ttl:PT10M}")
+    private Duration defaultTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (String region : REGIONS) {
+            if (cacheManager.getCache(region) != null) {
+                cacheManager.destroyCache(region); // left over from a previous context in the same JVM (devtools restart, tests)
+            }
+            cacheManager.createCache(region, regionConfiguration(region));
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private CaffeineConfiguration<Object, Object> regionConfiguration(String region) {
+        String prefix = "second-level-cache.regions." + region;
+        long maxSize = environment.getProperty(prefix + ".max-size", Long.class, defaultMaxSize);
+        Duration ttl = environment.getProperty(prefix + ".ttl", Duration.class, defaultTtl);
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(true); // JCache MXBean statistics; Hibernate's own counters feed the hibernate.* meters
+        return configuration;
+    }
+}
@@ -1,6 +1,9 @@
 package com.test.CompanyDriverPortal.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,7 +15,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -33,6 +35,21 @@ public class SecurityConfig {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.password-hashing.bcrypt-strength:10}") // BCrypt cost factor, each +1 doubles the time per hash
+    private int bcryptStrength;
+
+    @Value("${auth.password-hashing.threads:4}")
+    private int hashingThreads;
+
+    @Value("${auth.password-hashing.queue-capacity:100}")
+    private int hashingQueueCapacity;
+
+    @Value("${auth.password-hashing.timeout-ms:5000}")
+    private long hashingTimeoutMillis;
+
     // Configure the security filter chain to define how requests are secured and how authentication is handled
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -41,6 +58,7 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // async searches were authorized on the original request
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -65,9 +83,16 @@ public class SecurityConfig {
         return source;
     }
 
-    @Bean
+    // BCrypt runs on a dedicated bounded pool instead of Tomcat request threads
+    @Bean(destroyMethod = "shutdown")
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(
+                bcryptStrength,
+                hashingThreads,
+                hashingQueueCapacity,
+                hashingTimeoutMillis,
+                meterRegistry
+        );
     }
 
     // Configure the authentication provider to use our custom user details service and password encoder for authenticating users
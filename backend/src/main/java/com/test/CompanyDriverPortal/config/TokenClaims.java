@@ -0,0 +1,20 @@
+package com.test.CompanyDriverPortal.config;
+
+import lombok.Value;
+
+import java.util.Date;
+
+// Immutable view of a verified JWT so the signature is checked once and the claims can be reused for the rest of the request
+@Value
+public class TokenClaims {
+    Long userId;
+    String username;
+    String role;
+    Integer tokenEpoch;
+    Date issuedAt;
+    Date expiration;
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
@@ -0,0 +1,88 @@
+package com.test.CompanyDriverPortal.config;
+
+import com.test.CompanyDriverPortal.repository.UserRepository;
+import com.test.CompanyDriverPortal.util.LongIntHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+// In-memory table of each user's current token epoch. A token is only accepted while the epoch it was issued with
+// is still the user's current epoch, so bumping or removing the entry revokes every token issued before.
+@Component
+public class TokenEpochTable {
+
+    private static final int UNKNOWN_USER = -1;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final StampedLock lock = new StampedLock();
+
+    private LongIntHashMap epochs;
+
+    private volatile boolean loaded;
+
+    // Check a token's epoch against the table. Lock-free and allocation-free unless a writer is active at the same time.
+    public boolean isCurrent(Long userId, Integer tokenEpoch) {
+        if (userId == null || tokenEpoch == null) {
+            return false; // tokens issued before epochs were introduced
+        }
+        ensureLoaded();
+
+        long stamp = lock.tryOptimisticRead();
+        int current = epochs.get(userId);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                current = epochs.get(userId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return current != UNKNOWN_USER && current == tokenEpoch;
+    }
+
+    // Record the user's new epoch, called after the user row has been saved
+    public void put(Long userId, int tokenEpoch) {
+        ensureLoaded();
+        long stamp = lock.writeLock();
+        try {
+            epochs.put(userId, tokenEpoch);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Forget the user so all of their tokens are rejected, called after the user row has been deleted
+    public void remove(Long userId) {
+        ensureLoaded();
+        long stamp = lock.writeLock();
+        try {
+            epochs.remove(userId);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Load every user's epoch on first use, one query for the whole table
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            if (!loaded) {
+                List<UserRepository.UserTokenEpoch> rows = userRepository.findAllTokenEpochs();
+                LongIntHashMap table = new LongIntHashMap(rows.size(), UNKNOWN_USER);
+                rows.forEach(row -> table.put(row.getId(), row.getTokenEpoch()));
+                epochs = table;
+                loaded = true;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.test.CompanyDriverPortal.config;
+
+import com.test.CompanyDriverPortal.model.User;
+import lombok.Value;
+
+// The few user fields request authentication needs, cached so the filter does not have to read the users table
+@Value
+public class UserState {
+    Long id;
+    String username;
+    User.Role role;
+    boolean active;
+
+    public static UserState of(User user) {
+        return new UserState(user.getId(), user.getUsername(), user.getRole(), user.isActive());
+    }
+}
@@ -0,0 +1,54 @@
+package com.test.CompanyDriverPortal.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.CompanyDriverPortal.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class UserStateCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.user-state-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${auth.user-state-cache.ttl:PT10M}") // Safety net only, changes made through UserService evict immediately
+    private Duration ttl;
+
+    private Cache<String, UserState> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.user-state");
+    }
+
+    // Return the cached state of the user, loading it once from the database on a miss (null if the user does not exist)
+    public UserState get(String username) {
+        return cache.get(username, key -> userRepository.findByUsername(key)
+                .map(UserState::of)
+                .orElse(null));
+    }
+
+    // Drop the cached state so the next request sees the new role or the deletion
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+}
@@ -1,9 +1,11 @@
 package com.test.CompanyDriverPortal.controller;
 
+import com.test.CompanyDriverPortal.config.AuthRateLimiter;
 import com.test.CompanyDriverPortal.dto.auth.LoginRequest;
 import com.test.CompanyDriverPortal.dto.auth.LoginResponse;
 import com.test.CompanyDriverPortal.dto.auth.RegisterRequest;
 import com.test.CompanyDriverPortal.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,17 +18,26 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
+
     @PostMapping("/register")
     public ResponseEntity<LoginResponse> register(
-            @RequestBody RegisterRequest registerRequest) {
+            @RequestBody RegisterRequest registerRequest,
+            HttpServletRequest request) {
 
+        // Throttle before any password hashing happens
+        authRateLimiter.check(request.getRemoteAddr(), registerRequest.getUsername());
         return ResponseEntity.ok(authService.register(registerRequest));
     }
 
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(
-            @RequestBody LoginRequest loginRequest) {
+            @RequestBody LoginRequest loginRequest,
+            HttpServletRequest request) {
 
+        // Throttle before any password hashing happens
+        authRateLimiter.check(request.getRemoteAddr(), loginRequest.getUsername());
         return ResponseEntity.ok(authService.login(loginRequest));
     }
 }
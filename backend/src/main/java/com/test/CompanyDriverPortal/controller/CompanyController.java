@@ -3,14 +3,18 @@ package com.test.CompanyDriverPortal.controller;
 import com.test.CompanyDriverPortal.dto.company.CompanyRequestDto;
 import com.test.CompanyDriverPortal.dto.company.CompanyResponseDto;
 import com.test.CompanyDriverPortal.dto.company.CompanySearchDto;
+import com.test.CompanyDriverPortal.dto.search.CursorPageDto;
+import com.test.CompanyDriverPortal.search.SearchTimeouts;
 import com.test.CompanyDriverPortal.service.CompanyService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.util.List;
 import java.util.Map;
@@ -23,6 +27,9 @@ public class CompanyController {
     @Autowired
     private CompanyService companyService;
 
+    @Autowired
+    private SearchTimeouts searchTimeouts;
+
     // CREATE COMPANY
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
@@ -64,10 +71,39 @@ public class CompanyController {
     // SEARCH COMPANIES
     @PostMapping("/search")
     @PreAuthorize("hasAnyRole('USER','ADMIN','SUPER_ADMIN')")
-    public ResponseEntity<Page<CompanyResponseDto>> searchCompanies(
+    public WebAsyncTask<ResponseEntity<Page<CompanyResponseDto>>> searchCompanies(
             @RequestBody CompanySearchDto searchDto) {
 
-        return ResponseEntity.ok(companyService.searchCompanies(searchDto));
+        return searchTimeouts.searchTask(() -> ResponseEntity.ok(companyService.searchCompanies(searchDto)));
+    }
+
+    // QUICK SEARCH COMPANIES (single search box, ranked)
+    @GetMapping("/quick-search")
+    @PreAuthorize("hasAnyRole('USER','ADMIN','SUPER_ADMIN')")
+    public WebAsyncTask<ResponseEntity<Page<CompanyResponseDto>>> quickSearchCompanies(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        return searchTimeouts.quickSearchTask(() -> ResponseEntity.ok(companyService.quickSearchCompanies(q, page, size)));
+    }
+
+    // SEARCH COMPANIES (hasNext only, no total count)
+    @PostMapping("/search/slice")
+    @PreAuthorize("hasAnyRole('USER','ADMIN','SUPER_ADMIN')")
+    public WebAsyncTask<ResponseEntity<Slice<CompanyResponseDto>>> searchCompaniesSlice(
+            @Valid @RequestBody CompanySearchDto searchDto) {
+
+        return searchTimeouts.searchTask(() -> ResponseEntity.ok(companyService.searchCompaniesSlice(searchDto)));
+    }
+
+    // SEARCH COMPANIES (cursor pagination, constant cost per page)
+    @PostMapping("/search/cursor")
+    @PreAuthorize("hasAnyRole('USER','ADMIN','SUPER_ADMIN')")
+    public WebAsyncTask<ResponseEntity<CursorPageDto<CompanyResponseDto>>> searchCompaniesByCursor(
+            @Valid @RequestBody CompanySearchDto searchDto) {
+
+        return searchTimeouts.searchTask(() -> ResponseEntity.ok(companyService.searchCompaniesByCursor(searchDto)));
     }
 
     // DELETE COMPANY
@@ -3,14 +3,18 @@ package com.test.CompanyDriverPortal.controller;
 import com.test.CompanyDriverPortal.dto.driver.DriverRequestDto;
 import com.test.CompanyDriverPortal.dto.driver.DriverResponseDto;
 import com.test.CompanyDriverPortal.dto.driver.DriverSearchDto;
+import com.test.CompanyDriverPortal.dto.search.CursorPageDto;
+import com.test.CompanyDriverPortal.search.SearchTimeouts;
 import com.test.CompanyDriverPortal.service.DriverService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.util.List;
 import java.util.Map;
@@ -23,6 +27,9 @@ public class DriverController {
     @Autowired
     private DriverService driverService;
 
+    @Autowired
+    private SearchTimeouts searchTimeouts;
+
     // CREATE DRIVER
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
@@ -64,10 +71,49 @@ public class DriverController {
     // SEARCH DRIVERS
     @PostMapping("/search")
     @PreAuthorize("hasAnyRole('USER','ADMIN','SUPER_ADMIN')")
-    public ResponseEntity<Page<DriverResponseDto>> searchDrivers(
+    public WebAsyncTask<ResponseEntity<Page<DriverResponseDto>>> searchDrivers(
             @RequestBody DriverSearchDto searchDto) {
 
-        return ResponseEntity.ok(driverService.searchDrivers(searchDto));
+        return searchTimeouts.searchTask(() -> ResponseEntity.ok(driverService.searchDrivers(searchDto)));
+    }
+
+    // QUICK SEARCH DRIVERS (single search box, ranked)
+    @GetMapping("/quick-search")
+    @PreAuthorize("hasAnyRole('USER','ADMIN','SUPER_ADMIN')")
+    public WebAsyncTask<ResponseEntity<Page<DriverResponseDto>>> quickSearchDrivers(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        return searchTimeouts.quickSearchTask(() -> ResponseEntity.ok(driverService.quickSearchDrivers(q, page, size)));
+    }
+
+    // FUZZY NAME SEARCH (tolerates misspellings, closest match first)
+    @GetMapping("/fuzzy-search")
+    @PreAuthorize("hasAnyRole('USER','ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<List<DriverResponseDto>> fuzzySearchDrivers(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        return ResponseEntity.ok(driverService.fuzzySearchDrivers(name, limit));
+    }
+
+    // SEARCH DRIVERS (hasNext only, no total count)
+    @PostMapping("/search/slice")
+    @PreAuthorize("hasAnyRole('USER','ADMIN','SUPER_ADMIN')")
+    public WebAsyncTask<ResponseEntity<Slice<DriverResponseDto>>> searchDriversSlice(
+            @Valid @RequestBody DriverSearchDto searchDto) {
+
+        return searchTimeouts.searchTask(() -> ResponseEntity.ok(driverService.searchDriversSlice(searchDto)));
+    }
+
+    // SEARCH DRIVERS (cursor pagination, constant cost per page)
+    @PostMapping("/search/cursor")
+    @PreAuthorize("hasAnyRole('USER','ADMIN','SUPER_ADMIN')")
+    public WebAsyncTask<ResponseEntity<CursorPageDto<DriverResponseDto>>> searchDriversByCursor(
+            @Valid @RequestBody DriverSearchDto searchDto) {
+
+        return searchTimeouts.searchTask(() -> ResponseEntity.ok(driverService.searchDriversByCursor(searchDto)));
     }
 
     // DELETE DRIVER
@@ -0,0 +1,28 @@
+package com.test.CompanyDriverPortal.controller;
+
+import com.test.CompanyDriverPortal.service.ReadModelService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/read-model")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class ReadModelController {
+
+    @Autowired
+    private ReadModelService readModelService;
+
+    // REBUILD THE FLAT DRIVER AND COMPANY READ TABLES FROM THE DATABASE
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+
+        long drivers = readModelService.rebuildDrivers();
+        long companies = readModelService.rebuildCompanies();
+        return ResponseEntity.ok(Map.of("message", "Read model rebuilt successfully", "drivers", drivers, "companies", companies));
+    }
+}
@@ -0,0 +1,42 @@
+package com.test.CompanyDriverPortal.controller;
+
+import com.test.CompanyDriverPortal.dto.search.SearchHitDto;
+import com.test.CompanyDriverPortal.dto.search.SearchHitType;
+import com.test.CompanyDriverPortal.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    // SEARCH COMPANIES AND DRIVERS (ranked by relevance)
+    @GetMapping
+    @PreAuthorize("hasAnyRole('USER','ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<List<SearchHitDto>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<SearchHitType> types,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        return ResponseEntity.ok(searchService.search(q, types, limit));
+    }
+
+    // REBUILD SEARCH INDEX FROM THE DATABASE
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildIndex() {
+
+        long documents = searchService.rebuildIndex();
+        return ResponseEntity.ok(Map.of("message", "Search index rebuilt successfully", "documents", documents));
+    }
+}
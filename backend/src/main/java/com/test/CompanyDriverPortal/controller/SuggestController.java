@@ -0,0 +1,31 @@
+package com.test.CompanyDriverPortal.controller;
+
+import com.test.CompanyDriverPortal.dto.search.SuggestField;
+import com.test.CompanyDriverPortal.dto.search.SuggestionDto;
+import com.test.CompanyDriverPortal.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/suggest")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class SuggestController {
+
+    @Autowired
+    private SearchService searchService;
+
+    // AUTOCOMPLETE (most frequent completions of the prefix first)
+    @GetMapping
+    @PreAuthorize("hasAnyRole('USER','ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<List<SuggestionDto>> suggest(
+            @RequestParam SuggestField field,
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(searchService.suggest(field, prefix, limit));
+    }
+}
@@ -1,10 +1,17 @@
 package com.test.CompanyDriverPortal.dto.driver;
 
+import com.test.CompanyDriverPortal.dto.search.CountMode;
+import com.test.CompanyDriverPortal.dto.search.MatchMode;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -17,10 +24,41 @@ public class DriverSearchDto {
     private String city;
     private String state;
 
+    // Inclusive range filters, either bound may be left out
+    @Min(0)
+    private Integer experienceYearsMin;
+
+    @Min(0)
+    private Integer experienceYearsMax;
+
+    private LocalDate dateOfBirthFrom;
+    private LocalDate dateOfBirthTo;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+
+    // One of DriverSpecifications.SORTABLE (each backed by an index); ties are broken by id in the same direction
+    private String sortBy = "createdAt";
+    private Sort.Direction sortDirection = Sort.Direction.DESC;
+
     @Min(0)
     private int page = 0;
 
     @Min(1)
     @Max(100)
     private int size = 10;
+
+    // EXACT counts on every request, CACHED reuses a recent total for the same filters
+    private CountMode countMode = CountMode.EXACT;
+
+    // How every filter is compared (case-insensitive, surrounding whitespace ignored); PREFIX and EXACT use the column indexes
+    private MatchMode matchMode = MatchMode.CONTAINS;
+
+    // Per-field overrides of matchMode keyed by field name, e.g. {"email": "EXACT"}
+    private Map<String, MatchMode> matchModes;
+
+    // Opaque position returned as nextCursor by the cursor search endpoint, ignored by the page/size search
+    private String cursor;
+
+    // Also return state and city counts over all matching rows, not just the page (page/size search only)
+    private boolean includeFacets;
 }
@@ -0,0 +1,7 @@
+package com.test.CompanyDriverPortal.dto.search;
+
+// How a paged search computes totalElements
+public enum CountMode {
+    EXACT,  // run COUNT(*) on every request
+    CACHED  // reuse a recent count for the same filters, recounted after writes or when it expires
+}
@@ -0,0 +1,17 @@
+package com.test.CompanyDriverPortal.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> content;
+    private String nextCursor; // pass back as "cursor" to get the following page, null on the last page
+    private boolean hasNext;
+    private int size;
+}
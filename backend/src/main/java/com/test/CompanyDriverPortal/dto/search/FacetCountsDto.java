@@ -0,0 +1,15 @@
+package com.test.CompanyDriverPortal.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountsDto {
+    private Map<String, Long> state; // value -> matching rows, largest first
+    private Map<String, Long> city;
+}
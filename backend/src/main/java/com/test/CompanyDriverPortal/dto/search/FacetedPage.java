@@ -0,0 +1,29 @@
+package com.test.CompanyDriverPortal.dto.search;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+// A regular page plus facet counts, serialized as the usual page JSON with an extra "facets" property
+public class FacetedPage<T> extends PageImpl<T> {
+
+    private final FacetCountsDto facets;
+    private final boolean totalIsLowerBound;
+
+    public FacetedPage(Page<T> page, FacetCountsDto facets) {
+        super(page.getContent(), page.getPageable(), page.getTotalElements());
+        this.facets = facets;
+        this.totalIsLowerBound = LowerBoundPage.isLowerBound(page);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public FacetCountsDto getFacets() {
+        return facets;
+    }
+
+    // Carried over from a LowerBoundPage, omitted from the JSON when the total is exact
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public boolean isTotalIsLowerBound() {
+        return totalIsLowerBound;
+    }
+}
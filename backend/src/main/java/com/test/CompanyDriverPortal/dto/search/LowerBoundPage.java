@@ -0,0 +1,28 @@
+package com.test.CompanyDriverPortal.dto.search;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+// A page whose count query ran out of time: totalElements/totalPages only count the rows seen so far (plus one if
+// there is a next page). Serialized with "totalIsLowerBound": true so clients can tell it from an exact total.
+public class LowerBoundPage<T> extends PageImpl<T> {
+
+    public LowerBoundPage(List<T> content, Pageable pageable, long lowerBound) {
+        super(content, pageable, lowerBound);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public boolean isTotalIsLowerBound() {
+        return true;
+    }
+
+    // True for a lower-bound page, also once it has been wrapped in a FacetedPage
+    public static boolean isLowerBound(Page<?> page) {
+        return page instanceof LowerBoundPage<?>
+                || page instanceof FacetedPage<?> faceted && faceted.isTotalIsLowerBound();
+    }
+}
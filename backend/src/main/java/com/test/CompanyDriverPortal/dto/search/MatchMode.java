@@ -0,0 +1,10 @@
+package com.test.CompanyDriverPortal.dto.search;
+
+// How a search filter is compared with its column. EXACT and PREFIX can use the column's index, CONTAINS cannot.
+// Comparisons are case-insensitive because both sides are normalized: the filter value goes through
+// SearchText.normalize and is compared with the matching *_norm shadow column, not with the original column.
+public enum MatchMode {
+    EXACT,
+    PREFIX,
+    CONTAINS // default, same as the original LIKE '%term%' search
+}
@@ -0,0 +1,16 @@
+package com.test.CompanyDriverPortal.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDto {
+    private SearchHitType type;
+    private Long id;
+    private String title;
+    private String subtitle;
+    private float score;
+}
@@ -0,0 +1,5 @@
+package com.test.CompanyDriverPortal.dto.search;
+
+public enum SearchHitType {
+    COMPANY, DRIVER
+}
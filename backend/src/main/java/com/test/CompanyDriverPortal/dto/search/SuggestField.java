@@ -0,0 +1,10 @@
+package com.test.CompanyDriverPortal.dto.search;
+
+// Fields that /api/suggest can complete
+public enum SuggestField {
+    DRIVER_NAME,
+    LICENSE_NUMBER,
+    COMPANY_NAME,
+    REGISTRATION_NUMBER,
+    CITY // driver and company cities together
+}
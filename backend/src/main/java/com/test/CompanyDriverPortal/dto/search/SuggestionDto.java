@@ -0,0 +1,13 @@
+package com.test.CompanyDriverPortal.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDto {
+    private String text;
+    private int count; // number of drivers/companies with this value
+}
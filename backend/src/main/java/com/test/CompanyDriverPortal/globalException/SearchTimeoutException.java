@@ -0,0 +1,14 @@
+package com.test.CompanyDriverPortal.globalException;
+
+// Thrown when a search statement ran past its configured timeout and was cancelled by the database driver.
+// Mapped to 504 Gateway Timeout so clients can tell a slow query apart from a bad request or a server error.
+public class SearchTimeoutException extends RuntimeException {
+
+    public SearchTimeoutException(String message) {
+        super(message);
+    }
+
+    public SearchTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,22 @@
+package com.test.CompanyDriverPortal.globalException;
+
+// Thrown when the application is deliberately shedding load, e.g. when a bounded work queue is full.
+// Mapped to 503 Service Unavailable with a Retry-After header so clients back off instead of piling on.
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,16 @@
+package com.test.CompanyDriverPortal.globalException;
+
+// Thrown when a client exceeds a rate limit. Mapped to 429 Too Many Requests with a Retry-After header.
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,57 @@
+package com.test.CompanyDriverPortal.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Moves driver_details and company_details from their own IDENTITY id plus a unique driver_id/company_id
+// to the shared primary key the entities now map with @MapsId. ddl-auto cannot change a primary key, so this
+// drops the old id column, makes the foreign key column the primary key and drops the unique index it no longer
+// needs. The old id column is AUTO_INCREMENT, so inserts keep working until this has run. Does nothing once migrated.
+@Component
+public class DetailsPrimaryKeyMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DetailsPrimaryKeyMigration.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate("driver_details", "driver_id");
+        migrate("company_details", "company_id");
+    }
+
+    private void migrate(String table, String keyColumn) {
+        Integer legacyIdColumns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = 'id'",
+                Integer.class, table);
+        if (legacyIdColumns == null || legacyIdColumns == 0) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        // The key column was already unique and NOT NULL, so every existing row keeps its identity
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN id, ADD PRIMARY KEY (" + keyColumn + ")");
+
+        // Single-column unique indexes on the key column duplicate the primary key now
+        List<String> redundantIndexes = jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM information_schema.STATISTICS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME <> 'PRIMARY' AND NON_UNIQUE = 0 " +
+                        "GROUP BY INDEX_NAME HAVING COUNT(*) = 1 AND MAX(COLUMN_NAME) = ?",
+                String.class, table, keyColumn);
+        for (String index : redundantIndexes) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP INDEX `" + index + "`");
+        }
+
+        log.info("Migrated {} to a shared primary key on {} in {} ms (dropped {} redundant index(es))",
+                table, keyColumn, System.currentTimeMillis() - start, redundantIndexes.size());
+    }
+}
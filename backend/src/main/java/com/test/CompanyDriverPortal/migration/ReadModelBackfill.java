@@ -0,0 +1,42 @@
+package com.test.CompanyDriverPortal.migration;
+
+import com.test.CompanyDriverPortal.repository.CompanyReadModelRepository;
+import com.test.CompanyDriverPortal.repository.CompanyRepository;
+import com.test.CompanyDriverPortal.repository.DriverReadModelRepository;
+import com.test.CompanyDriverPortal.repository.DriverRepository;
+import com.test.CompanyDriverPortal.service.ReadModelService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+// Populates the read tables the first time the app starts against existing data, or after rows were written
+// around the service layer. Costs one COUNT(*) per table when nothing needs doing.
+@Component
+public class ReadModelBackfill implements ApplicationRunner {
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private DriverReadModelRepository driverReadModelRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private CompanyReadModelRepository companyReadModelRepository;
+
+    @Autowired
+    private ReadModelService readModelService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (driverReadModelRepository.count() != driverRepository.count()) {
+            readModelService.rebuildDrivers();
+        }
+        if (companyReadModelRepository.count() != companyRepository.count()) {
+            readModelService.rebuildCompanies();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.test.CompanyDriverPortal.migration;
+
+import com.test.CompanyDriverPortal.repository.CompanyDetailsRepository;
+import com.test.CompanyDriverPortal.repository.CompanyRepository;
+import com.test.CompanyDriverPortal.repository.DriverDetailsRepository;
+import com.test.CompanyDriverPortal.repository.DriverRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+// ddl-auto adds the *_norm search columns as NULL on existing rows; fill them before the app starts serving searches.
+// Rows saved through JPA get the columns from the entity callbacks, so after the first run this updates nothing.
+@Component
+public class SearchColumnBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchColumnBackfill.class);
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private DriverDetailsRepository driverDetailsRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private CompanyDetailsRepository companyDetailsRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int drivers = driverRepository.backfillSearchColumns();
+        int driverDetails = driverDetailsRepository.backfillSearchColumns();
+        int companies = companyRepository.backfillSearchColumns();
+        int companyDetails = companyDetailsRepository.backfillSearchColumns();
+
+        if (drivers + driverDetails + companies + companyDetails > 0) {
+            log.info("Backfilled search columns: {} drivers, {} driver details, {} companies, {} company details",
+                    drivers, driverDetails, companies, companyDetails);
+        }
+    }
+}
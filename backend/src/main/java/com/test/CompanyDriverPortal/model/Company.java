@@ -1,15 +1,29 @@
 package com.test.CompanyDriverPortal.model;
 
+import com.test.CompanyDriverPortal.util.SearchText;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "companies")
+@Table(name = "companies", indexes = {
+        @Index(name = "idx_companies_created_at_id", columnList = "created_at, id"), // keyset pagination and default sort
+        @Index(name = "idx_companies_company_name_norm", columnList = "company_name_norm"), // EXACT/PREFIX search
+        @Index(name = "idx_companies_registration_number_norm", columnList = "registration_number_norm")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "companies")
+@NaturalIdCache(region = "companies-natural-id")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,6 +36,7 @@ public class Company {
     @Column(name = "company_name", nullable = false, length = 50)
     private String companyName;
 
+    @NaturalId(mutable = true)
     @Column(name = "registration_number", nullable = false, unique = true, length = 50)
     private String registrationNumber;
 
@@ -31,6 +46,15 @@ public class Company {
     @Column(length = 150)
     private String website;
 
+    // Trimmed, lowercased copies of the searchable columns, kept in sync by the lifecycle callbacks below
+    @Setter(AccessLevel.NONE)
+    @Column(name = "company_name_norm", length = 50)
+    private String companyNameNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "registration_number_norm", length = 50)
+    private String registrationNumberNorm;
+
     //orphansRemoval = true ensures that if a Company is deleted, its associated CompanyDetails will also be deleted
     //cascade = CascadeType.ALL ensures that all operations (persist, merge, remove, refresh) are cascaded to the associated CompanyDetails
     @OneToOne(mappedBy = "company", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -46,11 +70,18 @@ public class Company {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        normalizeSearchColumns();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        normalizeSearchColumns();
+    }
+
+    private void normalizeSearchColumns() {
+        companyNameNorm = SearchText.normalize(companyName);
+        registrationNumberNorm = SearchText.normalize(registrationNumber);
     }
 }
 
@@ -1,26 +1,38 @@
 package com.test.CompanyDriverPortal.model;
 
+import com.test.CompanyDriverPortal.util.SearchText;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "company_details")
+@Table(name = "company_details", indexes = {
+        @Index(name = "idx_company_details_city_norm", columnList = "city_norm"), // EXACT/PREFIX search
+        @Index(name = "idx_company_details_state_norm", columnList = "state_norm"),
+        @Index(name = "idx_company_details_primary_contact_email_norm", columnList = "primary_contact_email_norm")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "company-details")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class CompanyDetails {
 
+    // Shared primary key: the details row uses its company's id, so company_id is both the key and the foreign key
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     //Foreign key to Company, one-to-one relationship
-    @OneToOne
-    @JoinColumn(name = "company_id", nullable = false, unique = true)
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id")
     private Company company;
 
     @Column(name = "address_line1", nullable = false, length = 200)
@@ -50,11 +62,36 @@ public class CompanyDetails {
     @Column(name = "primary_contact_mobile", nullable = false, length = 20)
     private String primaryContactMobile;
 
+    // Trimmed, lowercased copies of the searchable columns, kept in sync by the lifecycle callbacks below
+    @Setter(AccessLevel.NONE)
+    @Column(name = "city_norm", length = 100)
+    private String cityNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "state_norm", length = 100)
+    private String stateNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "primary_contact_email_norm", length = 150)
+    private String primaryContactEmailNorm;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        normalizeSearchColumns();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        normalizeSearchColumns();
+    }
+
+    private void normalizeSearchColumns() {
+        cityNorm = SearchText.normalize(city);
+        stateNorm = SearchText.normalize(state);
+        primaryContactEmailNorm = SearchText.normalize(primaryContactEmail);
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.test.CompanyDriverPortal.model;
+
+import com.test.CompanyDriverPortal.util.SearchText;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Flat, join-free copy of a company and its details with exactly the columns of CompanyResponseDto, written in the
+// same transaction as every company create/update/delete (ReadModelService). All company reads go through this table.
+@Entity
+@Table(name = "company_read_model", indexes = {
+        @Index(name = "idx_company_read_model_created_at_id", columnList = "created_at, id"), // keyset pagination and default sort
+        @Index(name = "idx_company_read_model_company_name_norm", columnList = "company_name_norm"), // EXACT/PREFIX search
+        @Index(name = "idx_company_read_model_registration_number_norm", columnList = "registration_number_norm"),
+        @Index(name = "idx_company_read_model_city_norm", columnList = "city_norm"),
+        @Index(name = "idx_company_read_model_state_norm", columnList = "state_norm"),
+        @Index(name = "idx_company_read_model_primary_contact_email_norm", columnList = "primary_contact_email_norm"),
+        @Index(name = "idx_company_read_model_established_on", columnList = "established_on") // range filters and sorting
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "company-read-model")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompanyReadModel {
+
+    @Id // Same id as the company, not generated
+    private Long id;
+
+    @Column(name = "company_name", nullable = false, length = 50)
+    private String companyName;
+
+    @Column(name = "registration_number", nullable = false, length = 50)
+    private String registrationNumber;
+
+    @Column(name = "established_on")
+    private LocalDate establishedOn;
+
+    @Column(length = 150)
+    private String website;
+
+    @Column(name = "address_line1", length = 200)
+    private String addressLine1;
+
+    @Column(name = "address_line2", length = 200)
+    private String addressLine2;
+
+    @Column(length = 100)
+    private String city;
+
+    @Column(length = 100)
+    private String state;
+
+    @Column(name = "zip_code", length = 20)
+    private String zipCode;
+
+    @Column(name = "primary_contact_first_name", length = 100)
+    private String primaryContactFirstName;
+
+    @Column(name = "primary_contact_last_name", length = 100)
+    private String primaryContactLastName;
+
+    @Column(name = "primary_contact_email", length = 150)
+    private String primaryContactEmail;
+
+    @Column(name = "primary_contact_mobile", length = 20)
+    private String primaryContactMobile;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Normalized copies for search, same rules as the *_norm columns on Company and CompanyDetails
+    @Setter(AccessLevel.NONE)
+    @Column(name = "company_name_norm", length = 50)
+    private String companyNameNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "registration_number_norm", length = 50)
+    private String registrationNumberNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "city_norm", length = 100)
+    private String cityNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "state_norm", length = 100)
+    private String stateNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "primary_contact_email_norm", length = 150)
+    private String primaryContactEmailNorm;
+
+    @PrePersist
+    @PreUpdate
+    protected void normalizeSearchColumns() {
+        companyNameNorm = SearchText.normalize(companyName);
+        registrationNumberNorm = SearchText.normalize(registrationNumber);
+        cityNorm = SearchText.normalize(city);
+        stateNorm = SearchText.normalize(state);
+        primaryContactEmailNorm = SearchText.normalize(primaryContactEmail);
+    }
+}
@@ -1,15 +1,31 @@
 package com.test.CompanyDriverPortal.model;
 
+import com.test.CompanyDriverPortal.util.SearchText;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "drivers")
+@Table(name = "drivers", indexes = {
+        @Index(name = "idx_drivers_created_at_id", columnList = "created_at, id"), // keyset pagination and default sort
+        @Index(name = "idx_drivers_first_name_norm", columnList = "first_name_norm"), // EXACT/PREFIX search
+        @Index(name = "idx_drivers_last_name_norm", columnList = "last_name_norm"),
+        @Index(name = "idx_drivers_email_norm", columnList = "email_norm"),
+        @Index(name = "idx_drivers_license_number_norm", columnList = "license_number_norm")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "drivers")
+@NaturalIdCache(region = "drivers-natural-id")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,12 +50,31 @@ public class Driver {
     @Column(name = "date_of_birth", nullable = false)
     private LocalDate dateOfBirth;
 
+    @NaturalId(mutable = true)
     @Column(name = "license_number", nullable = false, unique = true, length = 50)
     private String licenseNumber;
 
     @Column(name = "experience_years")
     private Integer experienceYears = 0;
 
+    // Trimmed, lowercased copies of the searchable columns, kept in sync by the lifecycle callbacks below.
+    // Searches compare against these so EXACT and PREFIX stay index range scans instead of LOWER(column) scans.
+    @Setter(AccessLevel.NONE)
+    @Column(name = "first_name_norm", length = 100)
+    private String firstNameNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "last_name_norm", length = 100)
+    private String lastNameNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_norm", length = 150)
+    private String emailNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "license_number_norm", length = 50)
+    private String licenseNumberNorm;
+
     @OneToOne(mappedBy = "driver", cascade = CascadeType.ALL, orphanRemoval = true)
     private DriverDetails driverDetails;
 
@@ -53,10 +88,19 @@ public class Driver {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        normalizeSearchColumns();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        normalizeSearchColumns();
+    }
+
+    private void normalizeSearchColumns() {
+        firstNameNorm = SearchText.normalize(firstName);
+        lastNameNorm = SearchText.normalize(lastName);
+        emailNorm = SearchText.normalize(email);
+        licenseNumberNorm = SearchText.normalize(licenseNumber);
     }
 }
\ No newline at end of file
@@ -1,25 +1,36 @@
 package com.test.CompanyDriverPortal.model;
 
+import com.test.CompanyDriverPortal.util.SearchText;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "driver_details")
+@Table(name = "driver_details", indexes = {
+        @Index(name = "idx_driver_details_city_norm", columnList = "city_norm"), // EXACT/PREFIX search
+        @Index(name = "idx_driver_details_state_norm", columnList = "state_norm")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "driver-details")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class DriverDetails {
 
+    // Shared primary key: the details row uses its driver's id, so driver_id is both the key and the foreign key
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @OneToOne
-    @JoinColumn(name = "driver_id", nullable = false, unique = true)
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "driver_id")
     private Driver driver;
 
     @Column(name = "address_line1", nullable = false, length = 200)
@@ -34,6 +45,15 @@ public class DriverDetails {
     @Column(nullable = false, length = 100)
     private String state;
 
+    // Trimmed, lowercased copies of city and state, kept in sync by the lifecycle callbacks below
+    @Setter(AccessLevel.NONE)
+    @Column(name = "city_norm", length = 100)
+    private String cityNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "state_norm", length = 100)
+    private String stateNorm;
+
     @Column(name = "zip_code", nullable = false, length = 20)
     private String zipCode;
 
@@ -43,5 +63,16 @@ public class DriverDetails {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        normalizeSearchColumns();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        normalizeSearchColumns();
+    }
+
+    private void normalizeSearchColumns() {
+        cityNorm = SearchText.normalize(city);
+        stateNorm = SearchText.normalize(state);
     }
 }
\ No newline at end of file
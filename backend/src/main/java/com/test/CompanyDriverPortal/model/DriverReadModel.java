@@ -0,0 +1,114 @@
+package com.test.CompanyDriverPortal.model;
+
+import com.test.CompanyDriverPortal.util.SearchText;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Flat, join-free copy of a driver and its details with exactly the columns of DriverResponseDto, written in the same
+// transaction as every driver create/update/delete (ReadModelService). All driver reads go through this table.
+@Entity
+@Table(name = "driver_read_model", indexes = {
+        @Index(name = "idx_driver_read_model_created_at_id", columnList = "created_at, id"), // keyset pagination and default sort
+        @Index(name = "idx_driver_read_model_first_name_norm", columnList = "first_name_norm"), // EXACT/PREFIX search
+        @Index(name = "idx_driver_read_model_last_name_norm", columnList = "last_name_norm"),
+        @Index(name = "idx_driver_read_model_email_norm", columnList = "email_norm"),
+        @Index(name = "idx_driver_read_model_license_number_norm", columnList = "license_number_norm"),
+        @Index(name = "idx_driver_read_model_city_norm", columnList = "city_norm"),
+        @Index(name = "idx_driver_read_model_state_norm", columnList = "state_norm"),
+        @Index(name = "idx_driver_read_model_experience_years", columnList = "experience_years"), // range filters and sorting
+        @Index(name = "idx_driver_read_model_date_of_birth", columnList = "date_of_birth")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "driver-read-model")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverReadModel {
+
+    @Id // Same id as the driver, not generated
+    private Long id;
+
+    @Column(name = "first_name", nullable = false, length = 100)
+    private String firstName;
+
+    @Column(name = "last_name", nullable = false, length = 100)
+    private String lastName;
+
+    @Column(nullable = false, length = 150)
+    private String email;
+
+    @Column(nullable = false, length = 20)
+    private String mobile;
+
+    @Column(name = "date_of_birth", nullable = false)
+    private LocalDate dateOfBirth;
+
+    @Column(name = "license_number", nullable = false, length = 50)
+    private String licenseNumber;
+
+    @Column(name = "experience_years")
+    private Integer experienceYears;
+
+    @Column(name = "address_line1", length = 200)
+    private String addressLine1;
+
+    @Column(name = "address_line2", length = 200)
+    private String addressLine2;
+
+    @Column(length = 100)
+    private String city;
+
+    @Column(length = 100)
+    private String state;
+
+    @Column(name = "zip_code", length = 20)
+    private String zipCode;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Normalized copies for search, same rules as the *_norm columns on Driver and DriverDetails
+    @Setter(AccessLevel.NONE)
+    @Column(name = "first_name_norm", length = 100)
+    private String firstNameNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "last_name_norm", length = 100)
+    private String lastNameNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_norm", length = 150)
+    private String emailNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "license_number_norm", length = 50)
+    private String licenseNumberNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "city_norm", length = 100)
+    private String cityNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "state_norm", length = 100)
+    private String stateNorm;
+
+    @PrePersist
+    @PreUpdate
+    protected void normalizeSearchColumns() {
+        firstNameNorm = SearchText.normalize(firstName);
+        lastNameNorm = SearchText.normalize(lastName);
+        emailNorm = SearchText.normalize(email);
+        licenseNumberNorm = SearchText.normalize(licenseNumber);
+        cityNorm = SearchText.normalize(city);
+        stateNorm = SearchText.normalize(state);
+    }
+}
@@ -1,10 +1,34 @@
 package com.test.CompanyDriverPortal.repository;
 
 import com.test.CompanyDriverPortal.model.CompanyDetails;
+import com.test.CompanyDriverPortal.search.LocationRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Repository
 public interface CompanyDetailsRepository extends JpaRepository<CompanyDetails, Long> { // extend JpaRepository to provide CRUD operations for CompanyDetails entity
-}
 
+    // Loads the facet counters one keyset page at a time; per-company rows so change events can be applied idempotently
+    @Query("SELECT new com.test.CompanyDriverPortal.search.LocationRow(cd.id, cd.state, cd.city) " +
+            "FROM CompanyDetails cd " +
+            "WHERE cd.id > :id " +
+            "ORDER BY cd.id ASC")
+    List<LocationRow> findLocationsAfter(@Param("id") Long id, Pageable pageable);
+
+    // Fills the *_norm columns of rows written before those columns existed; SearchColumnBackfill runs it at startup
+    @Modifying
+    @Transactional
+    @Query("UPDATE CompanyDetails cd SET " +
+            "cd.cityNorm = LOWER(TRIM(cd.city)), " +
+            "cd.stateNorm = LOWER(TRIM(cd.state)), " +
+            "cd.primaryContactEmailNorm = LOWER(TRIM(cd.primaryContactEmail)) " +
+            "WHERE cd.cityNorm IS NULL OR cd.stateNorm IS NULL OR cd.primaryContactEmailNorm IS NULL")
+    int backfillSearchColumns();
+}
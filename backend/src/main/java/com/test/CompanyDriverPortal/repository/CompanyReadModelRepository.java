@@ -0,0 +1,88 @@
+package com.test.CompanyDriverPortal.repository;
+
+import com.test.CompanyDriverPortal.dto.company.CompanyResponseDto;
+import com.test.CompanyDriverPortal.model.CompanyReadModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+// Join-free reads for every company list, get and search endpoint. Filter searches are built as Specifications
+// (see CompanySpecifications) so only the supplied filters reach the SQL.
+@Repository
+public interface CompanyReadModelRepository extends JpaRepository<CompanyReadModel, Long>, JpaSpecificationExecutor<CompanyReadModel>, CompanyReadModelRepositoryCustom {
+
+    // Selects straight into the response DTO (constructor order), so lists and search pages never hydrate managed entities
+    String RESPONSE_SELECT = "SELECT new com.test.CompanyDriverPortal.dto.company.CompanyResponseDto(" +
+            "c.id, c.companyName, c.registrationNumber, c.establishedOn, c.website, c.addressLine1, c.addressLine2, c.city, " +
+            "c.state, c.zipCode, c.primaryContactFirstName, c.primaryContactLastName, c.primaryContactEmail, c.primaryContactMobile) " +
+            "FROM CompanyReadModel c ";
+
+    // Quick search, one query per kind of search box entry. Ranked: exact match, then prefix match, then substring
+    // match, newest first within a rank. Single-table queries on the *_norm columns, so parameters are already normalized
+    // (SearchText) and LIKE-escaped with '!'.
+    @Query(value = RESPONSE_SELECT +
+            "WHERE c.primaryContactEmailNorm LIKE :contains ESCAPE '!' " +
+            "ORDER BY CASE WHEN c.primaryContactEmailNorm = :term THEN 0 " +
+            "WHEN c.primaryContactEmailNorm LIKE :prefix ESCAPE '!' THEN 1 ELSE 2 END, c.createdAt DESC, c.id DESC",
+            countQuery = "SELECT COUNT(c) FROM CompanyReadModel c " +
+                    "WHERE c.primaryContactEmailNorm LIKE :contains ESCAPE '!'")
+    Page<CompanyResponseDto> quickSearchByEmail(
+            @Param("term") String term,
+            @Param("prefix") String prefix,
+            @Param("contains") String contains,
+            Pageable pageable
+    );
+
+    @Query(value = RESPONSE_SELECT +
+            "WHERE c.registrationNumberNorm LIKE :contains ESCAPE '!' " +
+            "ORDER BY CASE WHEN c.registrationNumberNorm = :term THEN 0 " +
+            "WHEN c.registrationNumberNorm LIKE :prefix ESCAPE '!' THEN 1 ELSE 2 END, c.createdAt DESC, c.id DESC",
+            countQuery = "SELECT COUNT(c) FROM CompanyReadModel c WHERE c.registrationNumberNorm LIKE :contains ESCAPE '!'")
+    Page<CompanyResponseDto> quickSearchByRegistrationNumber(
+            @Param("term") String term,
+            @Param("prefix") String prefix,
+            @Param("contains") String contains,
+            Pageable pageable
+    );
+
+    // Any other entry may be a company name, a city or a state; ranked in that order like the old client-side cascade
+    @Query(value = RESPONSE_SELECT +
+            "WHERE c.companyNameNorm LIKE :contains ESCAPE '!' " +
+            "OR c.cityNorm LIKE :contains ESCAPE '!' " +
+            "OR c.stateNorm LIKE :contains ESCAPE '!' " +
+            "ORDER BY CASE WHEN c.companyNameNorm = :term THEN 0 " +
+            "WHEN c.companyNameNorm LIKE :prefix ESCAPE '!' THEN 1 " +
+            "WHEN c.companyNameNorm LIKE :contains ESCAPE '!' THEN 2 " +
+            "WHEN c.cityNorm LIKE :contains ESCAPE '!' THEN 3 " +
+            "ELSE 4 END, c.createdAt DESC, c.id DESC",
+            countQuery = "SELECT COUNT(c) FROM CompanyReadModel c " +
+                    "WHERE c.companyNameNorm LIKE :contains ESCAPE '!' " +
+                    "OR c.cityNorm LIKE :contains ESCAPE '!' " +
+                    "OR c.stateNorm LIKE :contains ESCAPE '!'")
+    Page<CompanyResponseDto> quickSearchByText(
+            @Param("term") String term,
+            @Param("prefix") String prefix,
+            @Param("contains") String contains,
+            Pageable pageable
+    );
+
+    @Query(RESPONSE_SELECT + "ORDER BY c.createdAt DESC")
+    List<CompanyResponseDto> findAllResponses();
+
+    // In no particular order; callers that need an order (index search results) restore it themselves
+    @Query(RESPONSE_SELECT + "WHERE c.id IN :ids")
+    List<CompanyResponseDto> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Rows whose company no longer exists; the read model rebuild removes them after upserting every company
+    @Modifying
+    @Query("DELETE FROM CompanyReadModel r WHERE r.id NOT IN (SELECT c.id FROM Company c)")
+    int deleteOrphans();
+}
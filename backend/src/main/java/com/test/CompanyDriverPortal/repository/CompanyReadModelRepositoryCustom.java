@@ -0,0 +1,17 @@
+package com.test.CompanyDriverPortal.repository;
+
+import com.test.CompanyDriverPortal.dto.company.CompanyResponseDto;
+import com.test.CompanyDriverPortal.model.CompanyReadModel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Map;
+
+public interface CompanyReadModelRepositoryCustom {
+    Slice<CompanyReadModel> findSlice(Specification<CompanyReadModel> spec, Pageable pageable);
+
+    Slice<CompanyResponseDto> findResponseSlice(Specification<CompanyReadModel> spec, Pageable pageable);
+
+    Map<String, Long> countGroupedBy(Specification<CompanyReadModel> spec, String attribute, String keyAttribute, int maxValues);
+}
@@ -0,0 +1,27 @@
+package com.test.CompanyDriverPortal.repository;
+
+import com.test.CompanyDriverPortal.dto.company.CompanyResponseDto;
+import com.test.CompanyDriverPortal.model.CompanyReadModel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+// Picked up by Spring Data as the implementation of CompanyReadModelRepositoryCustom
+public class CompanyReadModelRepositoryImpl extends SpecificationSearchSupport<CompanyReadModel> implements CompanyReadModelRepositoryCustom {
+
+    // CompanyResponseDto constructor order, same as CompanyReadModelRepository.RESPONSE_SELECT
+    private static final String[] RESPONSE_ATTRIBUTES = {
+            "id", "companyName", "registrationNumber", "establishedOn", "website",
+            "addressLine1", "addressLine2", "city", "state", "zipCode",
+            "primaryContactFirstName", "primaryContactLastName", "primaryContactEmail", "primaryContactMobile"
+    };
+
+    public CompanyReadModelRepositoryImpl() {
+        super(CompanyReadModel.class);
+    }
+
+    @Override
+    public Slice<CompanyResponseDto> findResponseSlice(Specification<CompanyReadModel> spec, Pageable pageable) {
+        return findSlice(spec, pageable, CompanyResponseDto.class, RESPONSE_ATTRIBUTES);
+    }
+}
@@ -1,34 +1,60 @@
 package com.test.CompanyDriverPortal.repository;
 
 import com.test.CompanyDriverPortal.model.Company;
-import org.springframework.data.domain.Page;
+import com.test.CompanyDriverPortal.search.CompanyDocument;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+// Write side and index builds only; every read endpoint goes through CompanyReadModelRepository
 @Repository
-public interface CompanyRepository extends JpaRepository<Company, Long> {
+public interface CompanyRepository extends JpaRepository<Company, Long>, CompanyRepositoryCustom {
 
-    Optional<Company> findByRegistrationNumber(String registrationNumber);
+    // Company and details in one LEFT JOIN; the inverse @OneToOne would otherwise be loaded with a second select per company
+    @Override
+    @EntityGraph(attributePaths = "companyDetails")
+    Optional<Company> findById(Long id);
 
-    // This custom query allows searching for companies based on multiple criteria, including company name, registration number, city, state, and primary contact email.
-    @Query("SELECT c FROM Company c " +
+    @Override
+    @EntityGraph(attributePaths = "companyDetails")
+    List<Company> findAll();
+
+    // Streams the searchable fields in (createdAt, id) order, one keyset page at a time, to build the search index
+    @Query("SELECT new com.test.CompanyDriverPortal.search.CompanyDocument(" +
+            "c.id, c.companyName, c.registrationNumber, cd.city, cd.state, cd.primaryContactEmail, c.createdAt) " +
+            "FROM Company c " +
             "LEFT JOIN c.companyDetails cd " +
-            "WHERE (:companyName IS NULL OR LOWER(c.companyName) LIKE LOWER(CONCAT('%', :companyName, '%'))) " +
-            "AND (:registrationNumber IS NULL OR LOWER(c.registrationNumber) LIKE LOWER(CONCAT('%', :registrationNumber, '%'))) " +
-            "AND (:city IS NULL OR LOWER(cd.city) LIKE LOWER(CONCAT('%', :city, '%'))) " +
-            "AND (:state IS NULL OR LOWER(cd.state) LIKE LOWER(CONCAT('%', :state, '%'))) " +
-            "AND (:primaryContactEmail IS NULL OR LOWER(cd.primaryContactEmail) LIKE LOWER(CONCAT('%', :primaryContactEmail, '%')))")
-    Page<Company> searchCompanies(
-            @Param("companyName") String companyName,
-            @Param("registrationNumber") String registrationNumber,
-            @Param("city") String city,
-            @Param("state") String state,
-            @Param("primaryContactEmail") String primaryContactEmail,
+            "WHERE c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id) " +
+            "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CompanyDocument> findDocumentsAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
             Pageable pageable
     );
-}
\ No newline at end of file
+
+    // Companies with their details in id order, one keyset page at a time, to rebuild the read model.
+    // Share-locked for the batch transaction, same reasoning as DriverRepository.findWithDetailsAfter
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT c FROM Company c LEFT JOIN FETCH c.companyDetails WHERE c.id > :id ORDER BY c.id ASC")
+    List<Company> findWithDetailsAfter(@Param("id") Long id, Pageable pageable);
+
+    // Fills the *_norm columns of rows written before those columns existed; SearchColumnBackfill runs it at startup
+    @Modifying
+    @Transactional
+    @Query("UPDATE Company c SET " +
+            "c.companyNameNorm = LOWER(TRIM(c.companyName)), " +
+            "c.registrationNumberNorm = LOWER(TRIM(c.registrationNumber)) " +
+            "WHERE c.companyNameNorm IS NULL OR c.registrationNumberNorm IS NULL")
+    int backfillSearchColumns();
+}
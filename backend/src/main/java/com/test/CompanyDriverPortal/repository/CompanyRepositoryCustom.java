@@ -0,0 +1,7 @@
+package com.test.CompanyDriverPortal.repository;
+
+// Registration number check backed by companies-natural-id
+public interface CompanyRepositoryCustom {
+
+    boolean existsByRegistrationNumber(String registrationNumber);
+}
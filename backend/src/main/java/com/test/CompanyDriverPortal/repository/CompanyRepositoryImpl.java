@@ -0,0 +1,23 @@
+package com.test.CompanyDriverPortal.repository;
+
+import com.test.CompanyDriverPortal.model.Company;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+// Picked up by Spring Data as the implementation of CompanyRepositoryCustom
+public class CompanyRepositoryImpl implements CompanyRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Resolves the registration number to an id only: a hit in companies-natural-id costs no statement, a miss one id select
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByRegistrationNumber(String registrationNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Company.class)
+                .getReference(registrationNumber) != null;
+    }
+}
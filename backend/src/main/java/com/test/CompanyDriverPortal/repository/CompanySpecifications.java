@@ -0,0 +1,65 @@
+package com.test.CompanyDriverPortal.repository;
+
+import com.test.CompanyDriverPortal.dto.company.CompanySearchDto;
+import com.test.CompanyDriverPortal.dto.search.MatchMode;
+import com.test.CompanyDriverPortal.model.CompanyReadModel;
+import com.test.CompanyDriverPortal.util.SearchCursor;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class CompanySpecifications {
+
+    public static final Set<String> FIELDS = Set.of("companyName", "registrationNumber", "city", "state", "primaryContactEmail");
+
+    // Sort field -> company_read_model column; every column has its own index (InnoDB appends id to it)
+    public static final Map<String, String> SORTABLE = Map.of(
+            "createdAt", "createdAt",
+            "companyName", "companyNameNorm",
+            "establishedOn", "establishedOn"
+    );
+
+    private CompanySpecifications() {
+    }
+
+    // Only the supplied filters end up in the SQL, all of them on the one read-model table
+    public static Specification<CompanyReadModel> matching(CompanySearchDto searchDto) {
+        Map<String, MatchMode> modes = searchDto.getMatchModes();
+        MatchMode defaultMode = searchDto.getMatchMode();
+        SearchPredicates.validate(modes, FIELDS);
+
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            SearchPredicates.add(predicates, cb, root.get("companyNameNorm"), searchDto.getCompanyName(), SearchPredicates.mode(modes, defaultMode, "companyName"));
+            SearchPredicates.add(predicates, cb, root.get("registrationNumberNorm"), searchDto.getRegistrationNumber(), SearchPredicates.mode(modes, defaultMode, "registrationNumber"));
+            SearchPredicates.add(predicates, cb, root.get("cityNorm"), searchDto.getCity(), SearchPredicates.mode(modes, defaultMode, "city"));
+            SearchPredicates.add(predicates, cb, root.get("stateNorm"), searchDto.getState(), SearchPredicates.mode(modes, defaultMode, "state"));
+            SearchPredicates.add(predicates, cb, root.get("primaryContactEmailNorm"), searchDto.getPrimaryContactEmail(), SearchPredicates.mode(modes, defaultMode, "primaryContactEmail"));
+            SearchPredicates.range(predicates, cb, root.<LocalDate>get("establishedOn"), searchDto.getEstablishedFrom(), searchDto.getEstablishedTo());
+            SearchPredicates.range(predicates, cb, root.<LocalDateTime>get("createdAt"), searchDto.getCreatedFrom(), searchDto.getCreatedTo());
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Sort sort(CompanySearchDto searchDto) {
+        return SearchPredicates.sort(SORTABLE, searchDto.getSortBy(), searchDto.getSortDirection());
+    }
+
+    // Rows strictly after the cursor in (createdAt DESC, id DESC) order, a range seek on the (created_at, id) index
+    public static Specification<CompanyReadModel> before(SearchCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.getCreatedAt()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                        cb.lessThan(root.get("id"), cursor.getId())
+                )
+        );
+    }
+}
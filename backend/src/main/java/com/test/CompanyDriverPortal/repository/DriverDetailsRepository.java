@@ -1,9 +1,33 @@
 package com.test.CompanyDriverPortal.repository;
 
 import com.test.CompanyDriverPortal.model.DriverDetails;
+import com.test.CompanyDriverPortal.search.LocationRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Repository
 public interface DriverDetailsRepository extends JpaRepository<DriverDetails, Long> {
-}
\ No newline at end of file
+
+    // Loads the facet counters one keyset page at a time; per-driver rows so change events can be applied idempotently
+    @Query("SELECT new com.test.CompanyDriverPortal.search.LocationRow(dd.id, dd.state, dd.city) " +
+            "FROM DriverDetails dd " +
+            "WHERE dd.id > :id " +
+            "ORDER BY dd.id ASC")
+    List<LocationRow> findLocationsAfter(@Param("id") Long id, Pageable pageable);
+
+    // Fills the *_norm columns of rows written before those columns existed; SearchColumnBackfill runs it at startup
+    @Modifying
+    @Transactional
+    @Query("UPDATE DriverDetails dd SET " +
+            "dd.cityNorm = LOWER(TRIM(dd.city)), " +
+            "dd.stateNorm = LOWER(TRIM(dd.state)) " +
+            "WHERE dd.cityNorm IS NULL OR dd.stateNorm IS NULL")
+    int backfillSearchColumns();
+}
@@ -0,0 +1,108 @@
+package com.test.CompanyDriverPortal.repository;
+
+import com.test.CompanyDriverPortal.dto.driver.DriverResponseDto;
+import com.test.CompanyDriverPortal.model.DriverReadModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+// Join-free reads for every driver list, get and search endpoint. Filter searches are built as Specifications
+// (see DriverSpecifications) so only the supplied filters reach the SQL.
+@Repository
+public interface DriverReadModelRepository extends JpaRepository<DriverReadModel, Long>, JpaSpecificationExecutor<DriverReadModel>, DriverReadModelRepositoryCustom {
+
+    // Selects straight into the response DTO (constructor order), so lists and search pages never hydrate managed entities
+    String RESPONSE_SELECT = "SELECT new com.test.CompanyDriverPortal.dto.driver.DriverResponseDto(" +
+            "d.id, d.firstName, d.lastName, d.email, d.mobile, d.dateOfBirth, d.licenseNumber, " +
+            "d.experienceYears, d.addressLine1, d.addressLine2, d.city, d.state, d.zipCode) " +
+            "FROM DriverReadModel d ";
+
+    // Quick search, one query per kind of search box entry. Ranked: exact match, then prefix match, then substring
+    // match, newest first within a rank. Single-table queries on the *_norm columns, so parameters are already normalized
+    // (SearchText) and LIKE-escaped with '!'.
+    @Query(value = RESPONSE_SELECT +
+            "WHERE d.emailNorm LIKE :contains ESCAPE '!' " +
+            "ORDER BY CASE WHEN d.emailNorm = :term THEN 0 " +
+            "WHEN d.emailNorm LIKE :prefix ESCAPE '!' THEN 1 ELSE 2 END, d.createdAt DESC, d.id DESC",
+            countQuery = "SELECT COUNT(d) FROM DriverReadModel d WHERE d.emailNorm LIKE :contains ESCAPE '!'")
+    Page<DriverResponseDto> quickSearchByEmail(
+            @Param("term") String term,
+            @Param("prefix") String prefix,
+            @Param("contains") String contains,
+            Pageable pageable
+    );
+
+    @Query(value = RESPONSE_SELECT +
+            "WHERE d.licenseNumberNorm LIKE :contains ESCAPE '!' " +
+            "ORDER BY CASE WHEN d.licenseNumberNorm = :term THEN 0 " +
+            "WHEN d.licenseNumberNorm LIKE :prefix ESCAPE '!' THEN 1 ELSE 2 END, d.createdAt DESC, d.id DESC",
+            countQuery = "SELECT COUNT(d) FROM DriverReadModel d WHERE d.licenseNumberNorm LIKE :contains ESCAPE '!'")
+    Page<DriverResponseDto> quickSearchByLicenseNumber(
+            @Param("term") String term,
+            @Param("prefix") String prefix,
+            @Param("contains") String contains,
+            Pageable pageable
+    );
+
+    @Query(value = RESPONSE_SELECT +
+            "WHERE d.firstNameNorm LIKE :firstContains ESCAPE '!' " +
+            "AND d.lastNameNorm LIKE :lastContains ESCAPE '!' " +
+            "ORDER BY CASE WHEN d.firstNameNorm = :first AND d.lastNameNorm = :last THEN 0 " +
+            "WHEN d.firstNameNorm LIKE :firstPrefix ESCAPE '!' AND d.lastNameNorm LIKE :lastPrefix ESCAPE '!' THEN 1 " +
+            "ELSE 2 END, d.createdAt DESC, d.id DESC",
+            countQuery = "SELECT COUNT(d) FROM DriverReadModel d " +
+                    "WHERE d.firstNameNorm LIKE :firstContains ESCAPE '!' " +
+                    "AND d.lastNameNorm LIKE :lastContains ESCAPE '!'")
+    Page<DriverResponseDto> quickSearchByFullName(
+            @Param("first") String first,
+            @Param("firstPrefix") String firstPrefix,
+            @Param("firstContains") String firstContains,
+            @Param("last") String last,
+            @Param("lastPrefix") String lastPrefix,
+            @Param("lastContains") String lastContains,
+            Pageable pageable
+    );
+
+    // A single word may be a first name, a last name or a city; ranked in that order like the old client-side cascade
+    @Query(value = RESPONSE_SELECT +
+            "WHERE d.firstNameNorm LIKE :contains ESCAPE '!' " +
+            "OR d.lastNameNorm LIKE :contains ESCAPE '!' " +
+            "OR d.cityNorm LIKE :contains ESCAPE '!' " +
+            "ORDER BY CASE WHEN d.firstNameNorm = :term THEN 0 " +
+            "WHEN d.lastNameNorm = :term THEN 1 " +
+            "WHEN d.firstNameNorm LIKE :prefix ESCAPE '!' THEN 2 " +
+            "WHEN d.lastNameNorm LIKE :prefix ESCAPE '!' THEN 3 " +
+            "WHEN d.firstNameNorm LIKE :contains ESCAPE '!' THEN 4 " +
+            "WHEN d.lastNameNorm LIKE :contains ESCAPE '!' THEN 5 " +
+            "ELSE 6 END, d.createdAt DESC, d.id DESC",
+            countQuery = "SELECT COUNT(d) FROM DriverReadModel d " +
+                    "WHERE d.firstNameNorm LIKE :contains ESCAPE '!' " +
+                    "OR d.lastNameNorm LIKE :contains ESCAPE '!' " +
+                    "OR d.cityNorm LIKE :contains ESCAPE '!'")
+    Page<DriverResponseDto> quickSearchByWord(
+            @Param("term") String term,
+            @Param("prefix") String prefix,
+            @Param("contains") String contains,
+            Pageable pageable
+    );
+
+    @Query(RESPONSE_SELECT + "ORDER BY d.createdAt DESC")
+    List<DriverResponseDto> findAllResponses();
+
+    // In no particular order; callers that need an order (index search results) restore it themselves
+    @Query(RESPONSE_SELECT + "WHERE d.id IN :ids")
+    List<DriverResponseDto> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Rows whose driver no longer exists; the read model rebuild removes them after upserting every driver
+    @Modifying
+    @Query("DELETE FROM DriverReadModel r WHERE r.id NOT IN (SELECT d.id FROM Driver d)")
+    int deleteOrphans();
+}
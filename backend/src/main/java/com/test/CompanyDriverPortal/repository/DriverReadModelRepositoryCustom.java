@@ -0,0 +1,17 @@
+package com.test.CompanyDriverPortal.repository;
+
+import com.test.CompanyDriverPortal.dto.driver.DriverResponseDto;
+import com.test.CompanyDriverPortal.model.DriverReadModel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Map;
+
+public interface DriverReadModelRepositoryCustom {
+    Slice<DriverReadModel> findSlice(Specification<DriverReadModel> spec, Pageable pageable);
+
+    Slice<DriverResponseDto> findResponseSlice(Specification<DriverReadModel> spec, Pageable pageable);
+
+    Map<String, Long> countGroupedBy(Specification<DriverReadModel> spec, String attribute, String keyAttribute, int maxValues);
+}
@@ -0,0 +1,27 @@
+package com.test.CompanyDriverPortal.repository;
+
+import com.test.CompanyDriverPortal.dto.driver.DriverResponseDto;
+import com.test.CompanyDriverPortal.model.DriverReadModel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+// Picked up by Spring Data as the implementation of DriverReadModelRepositoryCustom
+public class DriverReadModelRepositoryImpl extends SpecificationSearchSupport<DriverReadModel> implements DriverReadModelRepositoryCustom {
+
+    // DriverResponseDto constructor order, same as DriverReadModelRepository.RESPONSE_SELECT
+    private static final String[] RESPONSE_ATTRIBUTES = {
+            "id", "firstName", "lastName", "email", "mobile",
+            "dateOfBirth", "licenseNumber", "experienceYears", "addressLine1", "addressLine2",
+            "city", "state", "zipCode"
+    };
+
+    public DriverReadModelRepositoryImpl() {
+        super(DriverReadModel.class);
+    }
+
+    @Override
+    public Slice<DriverResponseDto> findResponseSlice(Specification<DriverReadModel> spec, Pageable pageable) {
+        return findSlice(spec, pageable, DriverResponseDto.class, RESPONSE_ATTRIBUTES);
+    }
+}
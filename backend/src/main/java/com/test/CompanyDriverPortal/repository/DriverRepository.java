@@ -1,36 +1,67 @@
 package com.test.CompanyDriverPortal.repository;
 
 import com.test.CompanyDriverPortal.model.Driver;
-import org.springframework.data.domain.Page;
+import com.test.CompanyDriverPortal.search.DriverDocument;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+// Write side and index builds only; every read endpoint goes through DriverReadModelRepository
 @Repository
-public interface DriverRepository extends JpaRepository<Driver, Long> {
+public interface DriverRepository extends JpaRepository<Driver, Long>, DriverRepositoryCustom {
 
-    Optional<Driver> findByEmail(String email);
-    Optional<Driver> findByLicenseNumber(String licenseNumber);
+    // Uniqueness check selects a single flag instead of loading the driver and, through it, its details;
+    // the licence number check is a natural-id lookup in DriverRepositoryImpl
+    boolean existsByEmail(String email);
 
-    @Query("SELECT d FROM Driver d " +
+    // Driver and details in one LEFT JOIN; the inverse @OneToOne would otherwise be loaded with a second select per driver
+    @Override
+    @EntityGraph(attributePaths = "driverDetails")
+    Optional<Driver> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "driverDetails")
+    List<Driver> findAll();
+
+    // Streams the searchable fields in (createdAt, id) order, one keyset page at a time, to build the in-memory search index
+    @Query("SELECT new com.test.CompanyDriverPortal.search.DriverDocument(" +
+            "d.id, d.firstName, d.lastName, d.email, d.licenseNumber, dd.city, dd.state, d.createdAt) " +
+            "FROM Driver d " +
             "LEFT JOIN d.driverDetails dd " +
-            "WHERE (:firstName IS NULL OR LOWER(d.firstName) LIKE LOWER(CONCAT('%', :firstName, '%'))) " +
-            "AND (:lastName IS NULL OR LOWER(d.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))) " +
-            "AND (:email IS NULL OR LOWER(d.email) LIKE LOWER(CONCAT('%', :email, '%'))) " +
-            "AND (:licenseNumber IS NULL OR LOWER(d.licenseNumber) LIKE LOWER(CONCAT('%', :licenseNumber, '%'))) " +
-            "AND (:city IS NULL OR LOWER(dd.city) LIKE LOWER(CONCAT('%', :city, '%'))) " +
-            "AND (:state IS NULL OR LOWER(dd.state) LIKE LOWER(CONCAT('%', :state, '%')))")
-    Page<Driver> searchDrivers(
-            @Param("firstName") String firstName,
-            @Param("lastName") String lastName,
-            @Param("email") String email,
-            @Param("licenseNumber") String licenseNumber,
-            @Param("city") String city,
-            @Param("state") String state,
+            "WHERE d.createdAt > :createdAt OR (d.createdAt = :createdAt AND d.id > :id) " +
+            "ORDER BY d.createdAt ASC, d.id ASC")
+    List<DriverDocument> findDocumentsAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
             Pageable pageable
     );
-}
\ No newline at end of file
+
+    // Drivers with their details in id order, one keyset page at a time, to rebuild the read model.
+    // FOR SHARE: a concurrent write to a row in the batch commits before the batch reads it or waits until the
+    // batch has written its read-model row, so the rebuild never overwrites a newer write with older data.
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT d FROM Driver d LEFT JOIN FETCH d.driverDetails WHERE d.id > :id ORDER BY d.id ASC")
+    List<Driver> findWithDetailsAfter(@Param("id") Long id, Pageable pageable);
+
+    // Fills the *_norm columns of rows written before those columns existed; SearchColumnBackfill runs it at startup
+    @Modifying
+    @Transactional
+    @Query("UPDATE Driver d SET " +
+            "d.firstNameNorm = LOWER(TRIM(d.firstName)), " +
+            "d.lastNameNorm = LOWER(TRIM(d.lastName)), " +
+            "d.emailNorm = LOWER(TRIM(d.email)), " +
+            "d.licenseNumberNorm = LOWER(TRIM(d.licenseNumber)) " +
+            "WHERE d.firstNameNorm IS NULL OR d.lastNameNorm IS NULL OR d.emailNorm IS NULL OR d.licenseNumberNorm IS NULL")
+    int backfillSearchColumns();
+}
@@ -0,0 +1,7 @@
+package com.test.CompanyDriverPortal.repository;
+
+// Licence number uniqueness check, resolved through the natural-id cache rather than a derived query
+public interface DriverRepositoryCustom {
+
+    boolean existsByLicenseNumber(String licenseNumber);
+}
@@ -0,0 +1,23 @@
+package com.test.CompanyDriverPortal.repository;
+
+import com.test.CompanyDriverPortal.model.Driver;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+// Picked up by Spring Data as the implementation of DriverRepositoryCustom
+public class DriverRepositoryImpl implements DriverRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Resolves the licence number to an id only: a hit in drivers-natural-id costs no statement, a miss one id select
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByLicenseNumber(String licenseNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Driver.class)
+                .getReference(licenseNumber) != null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.test.CompanyDriverPortal.repository;
+
+import com.test.CompanyDriverPortal.dto.driver.DriverSearchDto;
+import com.test.CompanyDriverPortal.dto.search.MatchMode;
+import com.test.CompanyDriverPortal.model.DriverReadModel;
+import com.test.CompanyDriverPortal.util.SearchCursor;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class DriverSpecifications {
+
+    public static final Set<String> FIELDS = Set.of("firstName", "lastName", "email", "licenseNumber", "city", "state");
+
+    // Sort field -> driver_read_model column; every column has its own index (InnoDB appends id to it)
+    public static final Map<String, String> SORTABLE = Map.of(
+            "createdAt", "createdAt",
+            "firstName", "firstNameNorm",
+            "lastName", "lastNameNorm",
+            "experienceYears", "experienceYears",
+            "dateOfBirth", "dateOfBirth"
+    );
+
+    private DriverSpecifications() {
+    }
+
+    // Only the supplied filters end up in the SQL, all of them on the one read-model table
+    public static Specification<DriverReadModel> matching(DriverSearchDto searchDto) {
+        Map<String, MatchMode> modes = searchDto.getMatchModes();
+        MatchMode defaultMode = searchDto.getMatchMode();
+        SearchPredicates.validate(modes, FIELDS);
+
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            SearchPredicates.add(predicates, cb, root.get("firstNameNorm"), searchDto.getFirstName(), SearchPredicates.mode(modes, defaultMode, "firstName"));
+            SearchPredicates.add(predicates, cb, root.get("lastNameNorm"), searchDto.getLastName(), SearchPredicates.mode(modes, defaultMode, "lastName"));
+            SearchPredicates.add(predicates, cb, root.get("emailNorm"), searchDto.getEmail(), SearchPredicates.mode(modes, defaultMode, "email"));
+            SearchPredicates.add(predicates, cb, root.get("licenseNumberNorm"), searchDto.getLicenseNumber(), SearchPredicates.mode(modes, defaultMode, "licenseNumber"));
+            SearchPredicates.add(predicates, cb, root.get("cityNorm"), searchDto.getCity(), SearchPredicates.mode(modes, defaultMode, "city"));
+            SearchPredicates.add(predicates, cb, root.get("stateNorm"), searchDto.getState(), SearchPredicates.mode(modes, defaultMode, "state"));
+            SearchPredicates.range(predicates, cb, root.<Integer>get("experienceYears"), searchDto.getExperienceYearsMin(), searchDto.getExperienceYearsMax());
+            SearchPredicates.range(predicates, cb, root.<LocalDate>get("dateOfBirth"), searchDto.getDateOfBirthFrom(), searchDto.getDateOfBirthTo());
+            SearchPredicates.range(predicates, cb, root.<LocalDateTime>get("createdAt"), searchDto.getCreatedFrom(), searchDto.getCreatedTo());
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Sort sort(DriverSearchDto searchDto) {
+        return SearchPredicates.sort(SORTABLE, searchDto.getSortBy(), searchDto.getSortDirection());
+    }
+
+    // Rows strictly after the cursor in (createdAt DESC, id DESC) order, a range seek on the (created_at, id) index
+    public static Specification<DriverReadModel> before(SearchCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.getCreatedAt()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                        cb.lessThan(root.get("id"), cursor.getId())
+                )
+        );
+    }
+}
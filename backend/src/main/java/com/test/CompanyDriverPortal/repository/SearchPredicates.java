@@ -0,0 +1,76 @@
+package com.test.CompanyDriverPortal.repository;
+
+import com.test.CompanyDriverPortal.dto.search.MatchMode;
+import com.test.CompanyDriverPortal.util.LikePatterns;
+import com.test.CompanyDriverPortal.util.SearchText;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Predicate building shared by the driver and company search specifications
+final class SearchPredicates {
+
+    private SearchPredicates() {
+    }
+
+    // Add a predicate for the filter if it was supplied. The column is one of the *_norm shadow columns, so the value
+    // is normalized the same way and no function wraps the column: EXACT and PREFIX are range scans on its index.
+    static void add(List<Predicate> predicates, CriteriaBuilder cb, Expression<String> normalizedColumn, String value, MatchMode mode) {
+        if (value == null) {
+            return;
+        }
+        String term = SearchText.normalize(value);
+        switch (mode) {
+            case EXACT -> predicates.add(cb.equal(normalizedColumn, term));
+            case PREFIX -> predicates.add(cb.like(normalizedColumn, LikePatterns.prefix(term), LikePatterns.ESCAPE));
+            case CONTAINS -> predicates.add(cb.like(normalizedColumn, LikePatterns.contains(term), LikePatterns.ESCAPE));
+        }
+    }
+
+    // Inclusive bounds, each applied only when supplied, so a range on an indexed column is an index range scan
+    static <Y extends Comparable<? super Y>> void range(List<Predicate> predicates, CriteriaBuilder cb, Expression<? extends Y> column, Y from, Y to) {
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(column, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThanOrEqualTo(column, to));
+        }
+    }
+
+    // Whitelisted sort field mapped to its indexed column, then id in the same direction for a stable order.
+    // Anything else is rejected rather than left to sort the whole table in memory.
+    static Sort sort(Map<String, String> sortable, String sortBy, Sort.Direction direction) {
+        String field = sortBy != null ? sortBy : "createdAt";
+        String column = sortable.get(field);
+        if (column == null) {
+            throw new IllegalArgumentException("Sorting by " + field + " is not supported, use one of " + new TreeSet<>(sortable.keySet()));
+        }
+        return Sort.by(direction != null ? direction : Sort.Direction.DESC, column, "id");
+    }
+
+    // The field's own mode from matchModes, else the search-wide matchMode, else CONTAINS
+    static MatchMode mode(Map<String, MatchMode> matchModes, MatchMode defaultMode, String field) {
+        MatchMode mode = matchModes != null ? matchModes.get(field) : null;
+        if (mode != null) {
+            return mode;
+        }
+        return defaultMode != null ? defaultMode : MatchMode.CONTAINS;
+    }
+
+    static void validate(Map<String, MatchMode> matchModes, Set<String> fields) {
+        if (matchModes == null) {
+            return;
+        }
+        for (String field : matchModes.keySet()) {
+            if (!fields.contains(field)) {
+                throw new IllegalArgumentException("Unknown search field in matchModes: " + field);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.test.CompanyDriverPortal.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+// Base for the custom repository fragments: runs a Specification as a Slice (pageSize + 1 rows, no count query),
+// which JpaSpecificationExecutor does not offer, either as entities or straight into a DTO, and as a GROUP BY for
+// facet counts. Counts go through JpaSpecificationExecutor.count(spec).
+public abstract class SpecificationSearchSupport<T> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Class<T> domainClass;
+
+    protected SpecificationSearchSupport(Class<T> domainClass) {
+        this.domainClass = domainClass;
+    }
+
+    public Slice<T> findSlice(Specification<T> spec, Pageable pageable) {
+        return slice(spec, pageable, domainClass, (root, cb) -> root);
+    }
+
+    // Same slice, but the listed attributes go straight into resultType's constructor (in that order), so the
+    // rows are never hydrated as managed entities with dirty-checking snapshots
+    protected <R> Slice<R> findSlice(Specification<T> spec, Pageable pageable, Class<R> resultType, String... attributes) {
+        return slice(spec, pageable, resultType, (root, cb) -> cb.construct(
+                resultType,
+                Arrays.stream(attributes).map(root::get).toArray(Selection<?>[]::new)
+        ));
+    }
+
+    private <R> Slice<R> slice(Specification<T> spec, Pageable pageable, Class<R> resultType,
+                               BiFunction<Root<T>, CriteriaBuilder, Selection<? extends R>> selection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(resultType);
+        Root<T> root = query.from(domainClass);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(selection.apply(root, cb)).orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<R> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<R> content = hasNext ? new ArrayList<>(rows.subList(0, pageable.getPageSize())) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    // Matching rows per value of keyAttribute (a *_norm column), largest first, each shown as its smallest spelling
+    // in attribute. Grouping on the normalized column rather than the collation matches the in-memory facet counters.
+    public Map<String, Long> countGroupedBy(Specification<T> spec, String attribute, String keyAttribute, int maxValues) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<T> root = query.from(domainClass);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        Expression<String> key = root.get(keyAttribute);
+        Expression<Long> count = cb.count(root);
+        query.multiselect(cb.least(root.<String>get(attribute)), count)
+                .groupBy(key)
+                .orderBy(cb.desc(count), cb.asc(key));
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : entityManager.createQuery(query).setMaxResults(maxValues).getResultList()) {
+            if (row[0] != null) {
+                counts.put((String) row[0], (Long) row[1]);
+            }
+        }
+        return counts;
+    }
+}
@@ -2,15 +2,24 @@ package com.test.CompanyDriverPortal.repository;
 
 import com.test.CompanyDriverPortal.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
+
+    // Used to load the in-memory token epoch table in one query
+    @Query("SELECT u.id AS id, u.tokenEpoch AS tokenEpoch FROM User u")
+    List<UserTokenEpoch> findAllTokenEpochs();
+
+    interface UserTokenEpoch {
+        Long getId();
+        int getTokenEpoch();
+    }
 //    List<User> findByActiveTrue(); // only active users
 //    Optional<User> findByEmail(String email);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.test.CompanyDriverPortal.repository;
+
+import com.test.CompanyDriverPortal.model.User;
+
+import java.util.Optional;
+
+// Login lookup by username, the User natural id
+public interface UserRepositoryCustom {
+
+    Optional<User> findByUsername(String username);
+}
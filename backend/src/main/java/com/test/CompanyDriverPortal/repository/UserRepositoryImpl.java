@@ -0,0 +1,25 @@
+package com.test.CompanyDriverPortal.repository;
+
+import com.test.CompanyDriverPortal.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Picked up by Spring Data as the implementation of UserRepositoryCustom
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Username -> id from users-natural-id, then the user from the users region; SQL only on a cache miss
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
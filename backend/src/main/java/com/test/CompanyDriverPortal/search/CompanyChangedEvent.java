@@ -0,0 +1,14 @@
+package com.test.CompanyDriverPortal.search;
+
+import lombok.Value;
+
+// Published by CompanyServiceImpl on create/update/delete. previous is null on create, current is null on delete.
+@Value
+public class CompanyChangedEvent {
+    CompanyDocument previous;
+    CompanyDocument current;
+
+    public Long getCompanyId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+}
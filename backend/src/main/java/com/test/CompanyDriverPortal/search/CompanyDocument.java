@@ -0,0 +1,32 @@
+package com.test.CompanyDriverPortal.search;
+
+import com.test.CompanyDriverPortal.model.Company;
+import com.test.CompanyDriverPortal.model.CompanyDetails;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+// Immutable snapshot of the searchable company fields, used to keep the in-memory search structures in sync
+@Value
+public class CompanyDocument {
+    Long id;
+    String companyName;
+    String registrationNumber;
+    String city;
+    String state;
+    String primaryContactEmail;
+    LocalDateTime createdAt;
+
+    public static CompanyDocument of(Company company) {
+        CompanyDetails details = company.getCompanyDetails();
+        return new CompanyDocument(
+                company.getId(),
+                company.getCompanyName(),
+                company.getRegistrationNumber(),
+                details != null ? details.getCity() : null,
+                details != null ? details.getState() : null,
+                details != null ? details.getPrimaryContactEmail() : null,
+                company.getCreatedAt()
+        );
+    }
+}
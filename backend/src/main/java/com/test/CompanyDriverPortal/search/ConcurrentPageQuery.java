@@ -0,0 +1,111 @@
+package com.test.CompanyDriverPortal.search;
+
+import com.test.CompanyDriverPortal.dto.search.LowerBoundPage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Builds a Page from a content query and a count query that run at the same time instead of one after the other.
+// The count runs on a virtual thread outside the request's persistence context, so it gets its own pooled
+// connection. If it has not finished by the deadline it is cancelled and the page goes out with a lower-bound total.
+// A count started for a cancellable request is cancelled together with it.
+@Component
+public class ConcurrentPageQuery {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.count-timeout:PT2S}") // measured from the start of the search, not from the end of the content query
+    private Duration countTimeout;
+
+    private ExecutorService executor;
+    private Timer searchTimer;
+    private Counter countTimeouts;
+
+    @PostConstruct
+    void init() {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("search-count-", 0).factory());
+
+        searchTimer = Timer.builder("search.page")
+                .description("Paged search latency with the content and count queries running concurrently")
+                .register(meterRegistry);
+        countTimeouts = Counter.builder("search.count.timeouts")
+                .description("Paged searches returned with a lower-bound total because the count query was too slow")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // contentQuery runs on the calling thread and must fetch the page as a Slice (pageSize + 1 rows, no count)
+    public <T> Page<T> execute(Pageable pageable, Supplier<Slice<T>> contentQuery, LongSupplier countQuery) {
+        long start = System.nanoTime();
+        SearchCancellation parent = SearchCancellation.current();
+        SearchCancellation countCancellation = parent != null ? parent.newChild() : new SearchCancellation();
+        Future<Long> count = executor.submit(() -> countCancellation.call(countQuery::getAsLong));
+
+        Slice<T> content;
+        try {
+            content = contentQuery.get();
+        } catch (RuntimeException e) {
+            countCancellation.cancel();
+            count.cancel(true);
+            throw e;
+        }
+
+        try {
+            // A short page already tells us the total, like Spring Data's own count shortcut
+            if (!content.hasNext() && (pageable.getOffset() == 0 || content.hasContent())) {
+                countCancellation.cancel();
+                count.cancel(true);
+                return new PageImpl<>(content.getContent(), pageable, pageable.getOffset() + content.getNumberOfElements());
+            }
+
+            long remainingNanos = countTimeout.toNanos() - (System.nanoTime() - start);
+            try {
+                long total = count.get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+                return new PageImpl<>(content.getContent(), pageable, total);
+            } catch (TimeoutException e) {
+                // Cancel the statement on the server, then interrupt the virtual thread in case it is not running one yet
+                countCancellation.cancel();
+                count.cancel(true);
+                countTimeouts.increment();
+                long lowerBound = pageable.getOffset() + content.getNumberOfElements() + (content.hasNext() ? 1 : 0);
+                return new LowerBoundPage<>(content.getContent(), pageable, lowerBound);
+            } catch (InterruptedException e) {
+                countCancellation.cancel();
+                count.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Search was interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Search count failed", e.getCause());
+            }
+        } finally {
+            searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.test.CompanyDriverPortal.search;
+
+import lombok.Value;
+
+// Published by DriverServiceImpl on create/update/delete. previous is null on create, current is null on delete.
+@Value
+public class DriverChangedEvent {
+    DriverDocument previous;
+    DriverDocument current;
+
+    public Long getDriverId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+}
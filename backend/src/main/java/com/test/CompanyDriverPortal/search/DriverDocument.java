@@ -0,0 +1,34 @@
+package com.test.CompanyDriverPortal.search;
+
+import com.test.CompanyDriverPortal.model.Driver;
+import com.test.CompanyDriverPortal.model.DriverDetails;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+// Immutable snapshot of the searchable driver fields, used to keep the in-memory search structures in sync
+@Value
+public class DriverDocument {
+    Long id;
+    String firstName;
+    String lastName;
+    String email;
+    String licenseNumber;
+    String city;
+    String state;
+    LocalDateTime createdAt;
+
+    public static DriverDocument of(Driver driver) {
+        DriverDetails details = driver.getDriverDetails();
+        return new DriverDocument(
+                driver.getId(),
+                driver.getFirstName(),
+                driver.getLastName(),
+                driver.getEmail(),
+                driver.getLicenseNumber(),
+                details != null ? details.getCity() : null,
+                details != null ? details.getState() : null,
+                driver.getCreatedAt()
+        );
+    }
+}
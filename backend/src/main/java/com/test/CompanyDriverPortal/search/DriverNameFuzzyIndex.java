@@ -0,0 +1,411 @@
+package com.test.CompanyDriverPortal.search;
+
+import com.test.CompanyDriverPortal.repository.DriverRepository;
+import com.test.CompanyDriverPortal.util.Levenshtein;
+import com.test.CompanyDriverPortal.util.LongIntHashMap;
+import org.apache.commons.codec.language.DoubleMetaphone;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory fuzzy index over driver first and last names.
+// Every name is filed under its Double Metaphone keys (primary and alternate), so a misspelled query that sounds
+// the same finds its candidates with one map lookup. Candidates are then verified with a bounded Levenshtein
+// distance and returned closest first, newest first within the same distance.
+@Component
+public class DriverNameFuzzyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverNameFuzzyIndex.class);
+
+    private static final int BUILD_BATCH_SIZE = 1000;
+    private static final int COMPACT_MIN_REMOVED = 1024;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Value("${search.fuzzy-name.enabled:true}")
+    private boolean enabled;
+
+    private final DoubleMetaphone doubleMetaphone = new DoubleMetaphone();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private NameState state = new NameState();
+    private boolean building;
+    private final List<DriverChangedEvent> pendingEvents = new ArrayList<>();
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    // One word is matched against first and last names, two or more words as "first last": the last name finds the
+    // candidates phonetically and both names must be within their edit distance bound
+    public List<Long> search(String name, int limit) {
+        String normalized = normalize(name);
+        if (normalized == null) {
+            return List.of();
+        }
+        String[] words = normalized.split(" ");
+
+        lock.readLock().lock();
+        try {
+            return words.length == 1
+                    ? state.searchOneName(words[0], phoneticKeys(words[0]), limit)
+                    : state.searchFullName(words[0], words[1], phoneticKeys(words[1]), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDriverChanged(DriverChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                pendingEvents.add(event); // replayed on top of the fresh state once the build finishes
+            } else {
+                apply(state, event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(this::rebuild, "driver-name-fuzzy-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    // Rebuild the index from the database without blocking searches or writes
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            building = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        NameState fresh = new NameState();
+        try {
+            long start = System.currentTimeMillis();
+            LocalDateTime afterCreatedAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+            Long afterId = 0L;
+            List<DriverDocument> batch;
+            do {
+                batch = driverRepository.findDocumentsAfter(afterCreatedAt, afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+                for (DriverDocument document : batch) {
+                    upsert(fresh, document);
+                }
+                if (!batch.isEmpty()) {
+                    DriverDocument last = batch.get(batch.size() - 1);
+                    afterCreatedAt = last.getCreatedAt();
+                    afterId = last.getId();
+                }
+            } while (batch.size() == BUILD_BATCH_SIZE);
+            log.info("Driver name fuzzy index built with {} drivers in {} ms", fresh.liveCount, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Driver name fuzzy index build failed, fuzzy search stays unavailable", e);
+            lock.writeLock().lock();
+            try {
+                building = false;
+                pendingEvents.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingEvents.forEach(event -> apply(fresh, event));
+            pendingEvents.clear();
+            state = fresh;
+            building = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(NameState target, DriverChangedEvent event) {
+        if (event.getCurrent() != null) {
+            upsert(target, event.getCurrent());
+        } else {
+            target.remove(event.getPrevious().getId());
+        }
+    }
+
+    private void upsert(NameState target, DriverDocument document) {
+        String firstName = normalize(document.getFirstName());
+        String lastName = normalize(document.getLastName());
+        target.upsert(document.getId(), firstName, phoneticKeys(firstName), lastName, phoneticKeys(lastName));
+    }
+
+    // Primary and alternate Double Metaphone keys, usually the same value
+    private Set<String> phoneticKeys(String value) {
+        if (value == null) {
+            return Set.of();
+        }
+        Set<String> keys = new LinkedHashSet<>(2);
+        String primary = doubleMetaphone.doubleMetaphone(value);
+        String alternate = doubleMetaphone.doubleMetaphone(value, true);
+        if (primary != null && !primary.isEmpty()) {
+            keys.add(primary);
+        }
+        if (alternate != null && !alternate.isEmpty()) {
+            keys.add(alternate);
+        }
+        return keys;
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // Typos allowed grow with the length of the word: 1 up to 4 letters, 2 up to 8, then 3
+    static int maxDistance(String word) {
+        return word.length() <= 4 ? 1 : word.length() <= 8 ? 2 : 3;
+    }
+
+    // The index data itself. Not thread-safe, always accessed under the outer lock.
+    private static class NameState {
+
+        private final Map<String, IntPostingList> firstNameKeys = new HashMap<>();
+        private final Map<String, IntPostingList> lastNameKeys = new HashMap<>();
+        private LongIntHashMap ordinalsById = new LongIntHashMap(1024, -1);
+        private long[] idsByOrdinal = new long[1024];
+        private String[] firstNames = new String[1024];
+        private String[] lastNames = new String[1024];
+        private Set<String>[] firstNameKeysByOrdinal = newKeyArray(1024);
+        private Set<String>[] lastNameKeysByOrdinal = newKeyArray(1024);
+        private int nextOrdinal;
+        private int liveCount;
+
+        void upsert(long driverId, String firstName, Set<String> firstKeys, String lastName, Set<String> lastKeys) {
+            int ordinal = ordinalsById.get(driverId);
+            if (ordinal >= 0) {
+                unfile(ordinal);
+            } else {
+                ordinal = nextOrdinal++;
+                ensureCapacity(ordinal);
+                ordinalsById.put(driverId, ordinal);
+                idsByOrdinal[ordinal] = driverId;
+                liveCount++;
+            }
+
+            firstNames[ordinal] = firstName;
+            lastNames[ordinal] = lastName;
+            firstNameKeysByOrdinal[ordinal] = firstKeys;
+            lastNameKeysByOrdinal[ordinal] = lastKeys;
+            for (String key : firstKeys) {
+                firstNameKeys.computeIfAbsent(key, k -> new IntPostingList()).add(ordinal);
+            }
+            for (String key : lastKeys) {
+                lastNameKeys.computeIfAbsent(key, k -> new IntPostingList()).add(ordinal);
+            }
+        }
+
+        void remove(Long driverId) {
+            int ordinal = ordinalsById.get(driverId);
+            if (ordinal < 0) {
+                return;
+            }
+            unfile(ordinal);
+            firstNames[ordinal] = null;
+            lastNames[ordinal] = null;
+            idsByOrdinal[ordinal] = 0L;
+            ordinalsById.remove(driverId);
+            liveCount--;
+
+            // Same policy as DriverTrigramIndex: renumber once deleted ordinals outnumber the live ones
+            int removed = nextOrdinal - liveCount;
+            if (removed >= COMPACT_MIN_REMOVED && removed > liveCount) {
+                compact();
+            }
+        }
+
+        // Renumber the live ordinals densely, keeping their order (and so newest-first ranking), so the per-ordinal
+        // arrays stop growing with churn and candidate scans stop skipping dead slots
+        private void compact() {
+            int[] newOrdinals = new int[nextOrdinal];
+            LongIntHashMap compactedOrdinals = new LongIntHashMap(Math.max(1024, liveCount), -1);
+            int next = 0;
+            for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+                if (firstNameKeysByOrdinal[ordinal] == null) {
+                    continue; // removed; a live ordinal always has a key set, possibly empty
+                }
+                newOrdinals[ordinal] = next;
+                idsByOrdinal[next] = idsByOrdinal[ordinal];
+                firstNames[next] = firstNames[ordinal];
+                lastNames[next] = lastNames[ordinal];
+                firstNameKeysByOrdinal[next] = firstNameKeysByOrdinal[ordinal];
+                lastNameKeysByOrdinal[next] = lastNameKeysByOrdinal[ordinal];
+                compactedOrdinals.put(idsByOrdinal[next], next);
+                next++;
+            }
+            Arrays.fill(idsByOrdinal, next, nextOrdinal, 0L);
+            Arrays.fill(firstNames, next, nextOrdinal, null);
+            Arrays.fill(lastNames, next, nextOrdinal, null);
+            Arrays.fill(firstNameKeysByOrdinal, next, nextOrdinal, null);
+            Arrays.fill(lastNameKeysByOrdinal, next, nextOrdinal, null);
+            for (IntPostingList list : firstNameKeys.values()) {
+                list.remap(newOrdinals);
+            }
+            for (IntPostingList list : lastNameKeys.values()) {
+                list.remap(newOrdinals);
+            }
+            ordinalsById = compactedOrdinals;
+            nextOrdinal = next;
+        }
+
+        List<Long> searchOneName(String word, Set<String> keys, int limit) {
+            int max = maxDistance(word);
+            BitSet seen = new BitSet(nextOrdinal);
+            List<Long> matches = new ArrayList<>();
+            for (Map<String, IntPostingList> index : List.of(firstNameKeys, lastNameKeys)) {
+                for (String key : keys) {
+                    IntPostingList list = index.get(key);
+                    if (list == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < list.size(); i++) {
+                        int ordinal = list.get(i);
+                        if (seen.get(ordinal)) {
+                            continue;
+                        }
+                        seen.set(ordinal);
+                        int distance = Math.min(
+                                distance(word, firstNames[ordinal], max),
+                                distance(word, lastNames[ordinal], max)
+                        );
+                        if (distance <= max) {
+                            matches.add(rankKey(distance, ordinal));
+                        }
+                    }
+                }
+            }
+            return top(matches, limit);
+        }
+
+        List<Long> searchFullName(String first, String last, Set<String> lastKeys, int limit) {
+            int maxFirst = maxDistance(first);
+            int maxLast = maxDistance(last);
+            BitSet seen = new BitSet(nextOrdinal);
+            List<Long> matches = new ArrayList<>();
+            // Walk the last-name candidates (usually the rarer key) and verify both names
+            for (String key : lastKeys) {
+                IntPostingList list = lastNameKeys.get(key);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size(); i++) {
+                    int ordinal = list.get(i);
+                    if (seen.get(ordinal)) {
+                        continue;
+                    }
+                    seen.set(ordinal);
+                    int lastDistance = distance(last, lastNames[ordinal], maxLast);
+                    if (lastDistance > maxLast) {
+                        continue;
+                    }
+                    int firstDistance = distance(first, firstNames[ordinal], maxFirst);
+                    if (firstDistance <= maxFirst) {
+                        matches.add(rankKey(firstDistance + lastDistance, ordinal));
+                    }
+                }
+            }
+            return top(matches, limit);
+        }
+
+        private List<Long> top(List<Long> matches, int limit) {
+            long[] keys = matches.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(keys);
+            List<Long> ids = new ArrayList<>(Math.min(limit, keys.length));
+            for (int i = 0; i < keys.length && ids.size() < limit; i++) {
+                ids.add(idsByOrdinal[Integer.MAX_VALUE - (int) keys[i]]);
+            }
+            return ids;
+        }
+
+        // Sorts by distance ascending, then by ordinal descending (newest driver first)
+        private static long rankKey(int distance, int ordinal) {
+            return ((long) distance << 32) | (Integer.MAX_VALUE - ordinal);
+        }
+
+        private static int distance(String word, String name, int max) {
+            return name != null ? Levenshtein.distance(word, name, max) : max + 1;
+        }
+
+        private void unfile(int ordinal) {
+            removeKeys(firstNameKeys, firstNameKeysByOrdinal[ordinal], ordinal);
+            removeKeys(lastNameKeys, lastNameKeysByOrdinal[ordinal], ordinal);
+            firstNameKeysByOrdinal[ordinal] = null;
+            lastNameKeysByOrdinal[ordinal] = null;
+        }
+
+        private static void removeKeys(Map<String, IntPostingList> index, Set<String> keys, int ordinal) {
+            if (keys == null) {
+                return;
+            }
+            for (String key : keys) {
+                IntPostingList list = index.get(key);
+                if (list != null) {
+                    list.remove(ordinal);
+                    if (list.isEmpty()) {
+                        index.remove(key);
+                    }
+                }
+            }
+        }
+
+        private void ensureCapacity(int ordinal) {
+            if (ordinal >= idsByOrdinal.length) {
+                int capacity = idsByOrdinal.length << 1;
+                idsByOrdinal = Arrays.copyOf(idsByOrdinal, capacity);
+                firstNames = Arrays.copyOf(firstNames, capacity);
+                lastNames = Arrays.copyOf(lastNames, capacity);
+                firstNameKeysByOrdinal = Arrays.copyOf(firstNameKeysByOrdinal, capacity);
+                lastNameKeysByOrdinal = Arrays.copyOf(lastNameKeysByOrdinal, capacity);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Set<String>[] newKeyArray(int capacity) {
+            return (Set<String>[]) new Set[capacity];
+        }
+    }
+}
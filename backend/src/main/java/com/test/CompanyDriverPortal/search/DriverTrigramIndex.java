@@ -0,0 +1,385 @@
+package com.test.CompanyDriverPortal.search;
+
+import com.test.CompanyDriverPortal.dto.driver.DriverSearchDto;
+import com.test.CompanyDriverPortal.repository.DriverRepository;
+import com.test.CompanyDriverPortal.util.LongIntHashMap;
+import com.test.CompanyDriverPortal.util.SearchText;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+// In-memory trigram inverted index over the six driver search fields.
+// Each driver gets an ordinal in (createdAt, id) order and every trigram of every field maps to a sorted
+// posting list of ordinals. A search intersects the posting lists of the query's trigrams, verifies the
+// candidates with a substring check (same result as LOWER(col) LIKE '%term%') and walks them newest first,
+// so only the page of ids has to be fetched from the database.
+@Component
+public class DriverTrigramIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverTrigramIndex.class);
+
+    static final int FIRST_NAME = 0;
+    static final int LAST_NAME = 1;
+    static final int EMAIL = 2;
+    static final int LICENSE_NUMBER = 3;
+    static final int CITY = 4;
+    static final int STATE = 5;
+    static final int FIELD_COUNT = 6;
+
+    private static final int BUILD_BATCH_SIZE = 1000;
+    private static final int COMPACT_MIN_REMOVED = 1024;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Value("${search.trigram-index.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private TrigramState state = new TrigramState();
+    private boolean building;
+    private final List<DriverChangedEvent> pendingEvents = new ArrayList<>();
+
+    private volatile boolean ready;
+
+    // True once the startup build has finished; until then searches go to the database
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    // The index only narrows a search through a filter of at least 3 characters. Without one it would have to verify
+    // every driver, so those searches (including the unfiltered default list) go to the database instead.
+    public static boolean canServe(DriverSearchDto searchDto) {
+        return hasTrigram(terms(searchDto));
+    }
+
+    // Run a search against the index, returning the requested page of driver ids (newest first) and the total.
+    // Only for searches that canServe().
+    public SearchResult search(DriverSearchDto searchDto, int offset, int limit) {
+        String[] terms = terms(searchDto);
+        if (!hasTrigram(terms)) {
+            throw new IllegalArgumentException("The trigram index needs a filter of at least 3 characters");
+        }
+
+        lock.readLock().lock();
+        try {
+            return state.search(terms, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Keep the index current once the driver change has been committed
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDriverChanged(DriverChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                pendingEvents.add(event); // replayed on top of the fresh state once the build finishes
+            } else {
+                state.apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Build the index in the background after startup; searches use the database until it is ready
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(this::rebuild, "driver-trigram-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    // Rebuild the index from the database without blocking searches or writes
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            building = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TrigramState fresh = new TrigramState();
+        try {
+            long start = System.currentTimeMillis();
+            LocalDateTime afterCreatedAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+            Long afterId = 0L;
+            List<DriverDocument> batch;
+            do {
+                batch = driverRepository.findDocumentsAfter(afterCreatedAt, afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+                for (DriverDocument document : batch) {
+                    fresh.upsert(document);
+                }
+                if (!batch.isEmpty()) {
+                    DriverDocument last = batch.get(batch.size() - 1);
+                    afterCreatedAt = last.getCreatedAt();
+                    afterId = last.getId();
+                }
+            } while (batch.size() == BUILD_BATCH_SIZE);
+            log.info("Driver trigram index built with {} drivers in {} ms", fresh.liveCount, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Driver trigram index build failed, searches keep using the database", e);
+            lock.writeLock().lock();
+            try {
+                building = false;
+                pendingEvents.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingEvents.forEach(fresh::apply);
+            pendingEvents.clear();
+            state = fresh;
+            building = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean hasTrigram(String[] terms) {
+        for (String term : terms) {
+            if (term != null && term.length() >= 3) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String[] terms(DriverSearchDto searchDto) {
+        String[] terms = new String[FIELD_COUNT];
+        terms[FIRST_NAME] = normalize(searchDto.getFirstName());
+        terms[LAST_NAME] = normalize(searchDto.getLastName());
+        terms[EMAIL] = normalize(searchDto.getEmail());
+        terms[LICENSE_NUMBER] = normalize(searchDto.getLicenseNumber());
+        terms[CITY] = normalize(searchDto.getCity());
+        terms[STATE] = normalize(searchDto.getState());
+        return terms;
+    }
+
+    // Null means "no filter"; anything else is normalized like the *_norm columns the database search compares against
+    private static String normalize(String term) {
+        return SearchText.normalize(term);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        private final List<Long> driverIds;
+        private final long total;
+    }
+
+    // The index data itself. Not thread-safe, always accessed under the outer lock.
+    private static class TrigramState {
+
+        private final Map<Long, IntPostingList> postings = new HashMap<>();
+        private LongIntHashMap ordinalsById = new LongIntHashMap(1024, -1);
+        private long[] idsByOrdinal = new long[1024];
+        private String[][] valuesByOrdinal = new String[1024][];
+        private int nextOrdinal;
+        private int liveCount;
+
+        void apply(DriverChangedEvent event) {
+            if (event.getCurrent() != null) {
+                upsert(event.getCurrent());
+            } else {
+                remove(event.getPrevious().getId());
+            }
+        }
+
+        void upsert(DriverDocument document) {
+            String[] values = new String[FIELD_COUNT];
+            values[FIRST_NAME] = normalize(document.getFirstName());
+            values[LAST_NAME] = normalize(document.getLastName());
+            values[EMAIL] = normalize(document.getEmail());
+            values[LICENSE_NUMBER] = normalize(document.getLicenseNumber());
+            values[CITY] = normalize(document.getCity());
+            values[STATE] = normalize(document.getState());
+
+            int ordinal = ordinalsById.get(document.getId());
+            if (ordinal >= 0) {
+                removePostings(ordinal, valuesByOrdinal[ordinal]);
+            } else {
+                ordinal = nextOrdinal++;
+                ensureCapacity(ordinal);
+                ordinalsById.put(document.getId(), ordinal);
+                idsByOrdinal[ordinal] = document.getId();
+                liveCount++;
+            }
+
+            valuesByOrdinal[ordinal] = values;
+            int documentOrdinal = ordinal;
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                forEachTrigram(field, values[field], key -> postings.computeIfAbsent(key, k -> new IntPostingList()).add(documentOrdinal));
+            }
+        }
+
+        void remove(Long driverId) {
+            int ordinal = ordinalsById.get(driverId);
+            if (ordinal < 0) {
+                return;
+            }
+            removePostings(ordinal, valuesByOrdinal[ordinal]);
+            valuesByOrdinal[ordinal] = null;
+            idsByOrdinal[ordinal] = 0L;
+            ordinalsById.remove(driverId);
+            liveCount--;
+
+            // Ordinals of deleted drivers are never reused; renumber once they outnumber the live ones
+            int removed = nextOrdinal - liveCount;
+            if (removed >= COMPACT_MIN_REMOVED && removed > liveCount) {
+                compact();
+            }
+        }
+
+        // Renumber the live ordinals densely, keeping their order, so the arrays and posting lists stop growing with churn
+        private void compact() {
+            int[] newOrdinals = new int[nextOrdinal];
+            LongIntHashMap compactedOrdinals = new LongIntHashMap(Math.max(1024, liveCount), -1);
+            int next = 0;
+            for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+                if (valuesByOrdinal[ordinal] == null) {
+                    continue;
+                }
+                newOrdinals[ordinal] = next;
+                idsByOrdinal[next] = idsByOrdinal[ordinal];
+                valuesByOrdinal[next] = valuesByOrdinal[ordinal];
+                compactedOrdinals.put(idsByOrdinal[next], next);
+                next++;
+            }
+            Arrays.fill(idsByOrdinal, next, nextOrdinal, 0L);
+            Arrays.fill(valuesByOrdinal, next, nextOrdinal, null);
+            for (IntPostingList list : postings.values()) {
+                list.remap(newOrdinals);
+            }
+            ordinalsById = compactedOrdinals;
+            nextOrdinal = next;
+        }
+
+        SearchResult search(String[] terms, int offset, int limit) {
+            // Posting lists for every trigram of every filter that is long enough to have trigrams
+            List<IntPostingList> lists = new ArrayList<>();
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                String term = terms[field];
+                if (term == null || term.length() < 3) {
+                    continue;
+                }
+                for (int i = 0; i + 3 <= term.length(); i++) {
+                    IntPostingList list = postings.get(trigramKey(field, term, i));
+                    if (list == null) {
+                        return new SearchResult(List.of(), 0); // a trigram nobody has, so nothing can match
+                    }
+                    lists.add(list);
+                }
+            }
+            lists.sort(Comparator.comparingInt(IntPostingList::size));
+
+            List<Long> pageIds = new ArrayList<>(limit);
+            long total = 0;
+            // Walk the shortest list newest first, probe the others, then verify the full substring
+            IntPostingList driver = lists.get(0);
+            for (int i = driver.size() - 1; i >= 0; i--) {
+                int ordinal = driver.get(i);
+                if (containedInAll(lists, ordinal) && matches(valuesByOrdinal[ordinal], terms)) {
+                    if (total >= offset && pageIds.size() < limit) {
+                        pageIds.add(idsByOrdinal[ordinal]);
+                    }
+                    total++;
+                }
+            }
+            return new SearchResult(pageIds, total);
+        }
+
+        private void removePostings(int ordinal, String[] values) {
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                forEachTrigram(field, values[field], key -> {
+                    IntPostingList list = postings.get(key);
+                    if (list != null) {
+                        list.remove(ordinal);
+                        if (list.isEmpty()) {
+                            postings.remove(key);
+                        }
+                    }
+                });
+            }
+        }
+
+        private void ensureCapacity(int ordinal) {
+            if (ordinal >= idsByOrdinal.length) {
+                int capacity = idsByOrdinal.length << 1;
+                idsByOrdinal = Arrays.copyOf(idsByOrdinal, capacity);
+                valuesByOrdinal = Arrays.copyOf(valuesByOrdinal, capacity);
+            }
+        }
+
+        private static boolean containedInAll(List<IntPostingList> lists, int ordinal) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(ordinal)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Same semantics as the JPQL: every supplied filter must be a substring of a non-null column value
+        private static boolean matches(String[] values, String[] terms) {
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                if (terms[field] != null && (values[field] == null || !values[field].contains(terms[field]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static void forEachTrigram(int field, String value, LongConsumer consumer) {
+            if (value == null) {
+                return;
+            }
+            for (int i = 0; i + 3 <= value.length(); i++) {
+                consumer.accept(trigramKey(field, value, i));
+            }
+        }
+
+        // Field in the top bits, then three 16-bit chars
+        private static long trigramKey(int field, String value, int start) {
+            return ((long) field << 48)
+                    | ((long) value.charAt(start) << 32)
+                    | ((long) value.charAt(start + 1) << 16)
+                    | value.charAt(start + 2);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.test.CompanyDriverPortal.search;
+
+import java.util.Arrays;
+
+// Sorted, duplicate-free list of primitive ints. Appending a value larger than all others is O(1),
+// which is the common case because new documents always get the highest ordinal.
+public class IntPostingList {
+
+    private int[] values = new int[4];
+    private int size;
+
+    public void add(int value) {
+        if (size > 0 && values[size - 1] < value) {
+            ensureCapacity();
+            values[size++] = value;
+            return;
+        }
+
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return;
+        }
+        index = -index - 1;
+        ensureCapacity();
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+    }
+
+    public void remove(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+    }
+
+    public boolean contains(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    // Replace every value v with newValues[v]; the mapping must preserve order so the list stays sorted
+    public void remap(int[] newValues) {
+        for (int i = 0; i < size; i++) {
+            values[i] = newValues[values[i]];
+        }
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void ensureCapacity() {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size << 1);
+        }
+    }
+}
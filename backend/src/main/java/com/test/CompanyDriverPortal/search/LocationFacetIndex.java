@@ -0,0 +1,201 @@
+package com.test.CompanyDriverPortal.search;
+
+import com.test.CompanyDriverPortal.dto.search.FacetCountsDto;
+import com.test.CompanyDriverPortal.dto.search.MatchMode;
+import com.test.CompanyDriverPortal.repository.CompanyDetailsRepository;
+import com.test.CompanyDriverPortal.repository.DriverDetailsRepository;
+import com.test.CompanyDriverPortal.util.SearchText;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+// In-memory state and city facet counters for drivers and companies.
+// Loaded from the details rows in keyset pages, then adjusted by the change events after every committed write.
+// Counters remember the location counted per id, so events queued during a load (which the load may already have
+// seen) are replayed idempotently. A periodic reload also picks up rows changed outside the application.
+@Component
+public class LocationFacetIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationFacetIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    @Autowired
+    private DriverDetailsRepository driverDetailsRepository;
+
+    @Autowired
+    private CompanyDetailsRepository companyDetailsRepository;
+
+    @Value("${search.facets.max-values:50}") // values returned per facet, largest counts first
+    private int maxValues;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private LocationFacets drivers = new LocationFacets();
+    private LocationFacets companies = new LocationFacets();
+    private boolean loading;
+    private final List<Object> pendingEvents = new ArrayList<>();
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getMaxValues() {
+        return maxValues;
+    }
+
+    // Facets for drivers filtered by nothing, or by state and/or city only
+    public FacetCountsDto driverFacets(String state, MatchMode stateMode, String city, MatchMode cityMode) {
+        lock.readLock().lock();
+        try {
+            return drivers.facets(matcher(state, stateMode), matcher(city, cityMode), maxValues);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Facets for companies filtered by nothing, or by state and/or city only
+    public FacetCountsDto companyFacets(String state, MatchMode stateMode, String city, MatchMode cityMode) {
+        lock.readLock().lock();
+        try {
+            return companies.facets(matcher(state, stateMode), matcher(city, cityMode), maxValues);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDriverChanged(DriverChangedEvent event) {
+        onChange(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        onChange(event);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(this::reload, "location-facet-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(initialDelayString = "${search.facets.resync-interval-ms:600000}", fixedDelayString = "${search.facets.resync-interval-ms:600000}")
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        LocationFacets freshDrivers = new LocationFacets();
+        LocationFacets freshCompanies = new LocationFacets();
+        try {
+            long start = System.currentTimeMillis();
+            load(freshDrivers, driverDetailsRepository::findLocationsAfter);
+            load(freshCompanies, companyDetailsRepository::findLocationsAfter);
+            log.debug("Location facet counters loaded in {} ms", System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Location facet counters could not be loaded, keeping the current counters", e);
+            lock.writeLock().lock();
+            try {
+                pendingEvents.forEach(this::apply);
+                pendingEvents.clear();
+                loading = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            drivers = freshDrivers;
+            companies = freshCompanies;
+            pendingEvents.forEach(this::apply);
+            pendingEvents.clear();
+            loading = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void onChange(Object event) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                pendingEvents.add(event); // applied on top of the fresh counters once the load finishes
+            } else {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void load(LocationFacets facets, BiFunction<Long, Pageable, List<LocationRow>> findAfter) {
+        Long afterId = 0L;
+        List<LocationRow> batch;
+        do {
+            batch = findAfter.apply(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (LocationRow row : batch) {
+                facets.put(row.getId(), row.getState(), row.getCity());
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+    }
+
+    // The event's current location replaces whatever was counted for the id; the previous one is not trusted,
+    // because a load may never have counted it
+    private void apply(Object event) {
+        if (event instanceof DriverChangedEvent driverEvent) {
+            if (driverEvent.getCurrent() != null) {
+                drivers.put(driverEvent.getDriverId(), driverEvent.getCurrent().getState(), driverEvent.getCurrent().getCity());
+            } else {
+                drivers.remove(driverEvent.getDriverId());
+            }
+        } else if (event instanceof CompanyChangedEvent companyEvent) {
+            if (companyEvent.getCurrent() != null) {
+                companies.put(companyEvent.getCompanyId(), companyEvent.getCurrent().getState(), companyEvent.getCurrent().getCity());
+            } else {
+                companies.remove(companyEvent.getCompanyId());
+            }
+        }
+    }
+
+    // Same semantics as the database search: case-insensitive, CONTAINS unless another mode was asked for
+    private static Predicate<String> matcher(String filter, MatchMode mode) {
+        if (filter == null) {
+            return value -> true;
+        }
+        String term = SearchText.normalize(filter);
+        return switch (mode != null ? mode : MatchMode.CONTAINS) {
+            case EXACT -> value -> SearchText.normalize(value).equals(term);
+            case PREFIX -> value -> SearchText.normalize(value).startsWith(term);
+            case CONTAINS -> value -> SearchText.normalize(value).contains(term);
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.test.CompanyDriverPortal.search;
+
+import com.test.CompanyDriverPortal.dto.search.FacetCountsDto;
+import com.test.CompanyDriverPortal.util.SearchText;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+// Counts per (state, city) pair for one entity type. State and city facets for "no filter" or "a filter on state
+// or city only" are sums over the pairs, of which there are far fewer than rows. The location counted for each id
+// is kept, so putting a row replaces exactly what was counted for it and applying the same change twice is harmless.
+// Pairs are keyed by SearchText.normalize like the *_norm columns the database facets group on, and each bucket is
+// shown with its smallest spelling, the MIN(...) the database path selects. Not thread-safe.
+class LocationFacets {
+
+    private final Map<String, Map<String, Long>> countsByStateThenCity = new HashMap<>();
+    private final Map<Long, String[]> locationsById = new HashMap<>();
+    private final Map<String, TreeMap<String, Long>> stateSpellings = new HashMap<>();
+    private final Map<String, TreeMap<String, Long>> citySpellings = new HashMap<>();
+
+    void put(Long id, String state, String city) {
+        remove(id);
+        locationsById.put(id, new String[]{state, city});
+        add(state, city, 1);
+    }
+
+    void remove(Long id) {
+        String[] counted = locationsById.remove(id);
+        if (counted != null) {
+            add(counted[0], counted[1], -1);
+        }
+    }
+
+    private void add(String state, String city, long delta) {
+        if (state == null || city == null) {
+            return; // no details row, nothing to facet on
+        }
+        String stateKey = SearchText.normalize(state);
+        String cityKey = SearchText.normalize(city);
+        Map<String, Long> cities = countsByStateThenCity.computeIfAbsent(stateKey, key -> new HashMap<>());
+        long count = cities.getOrDefault(cityKey, 0L) + delta;
+        if (count > 0) {
+            cities.put(cityKey, count);
+        } else {
+            cities.remove(cityKey);
+            if (cities.isEmpty()) {
+                countsByStateThenCity.remove(stateKey);
+            }
+        }
+        count(stateSpellings, stateKey, state, delta);
+        count(citySpellings, cityKey, city, delta);
+    }
+
+    FacetCountsDto facets(Predicate<String> stateMatches, Predicate<String> cityMatches, int maxValues) {
+        Map<String, Long> states = new HashMap<>();
+        Map<String, Long> cities = new HashMap<>();
+        countsByStateThenCity.forEach((state, cityCounts) -> {
+            if (!stateMatches.test(state)) {
+                return;
+            }
+            cityCounts.forEach((city, count) -> {
+                if (cityMatches.test(city)) {
+                    states.merge(state, count, Long::sum);
+                    cities.merge(city, count, Long::sum);
+                }
+            });
+        });
+        return new FacetCountsDto(
+                displayed(largestFirst(states, maxValues), stateSpellings),
+                displayed(largestFirst(cities, maxValues), citySpellings)
+        );
+    }
+
+    static Map<String, Long> largestFirst(Map<String, Long> counts, int maxValues) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet()
+                .stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(maxValues)
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private static void count(Map<String, TreeMap<String, Long>> spellings, String key, String spelling, long delta) {
+        TreeMap<String, Long> counts = spellings.computeIfAbsent(key, k -> new TreeMap<>());
+        long count = counts.getOrDefault(spelling, 0L) + delta;
+        if (count > 0) {
+            counts.put(spelling, count);
+        } else {
+            counts.remove(spelling);
+            if (counts.isEmpty()) {
+                spellings.remove(key);
+            }
+        }
+    }
+
+    // Same order, normalized keys swapped for the spelling shown to users
+    private static Map<String, Long> displayed(Map<String, Long> counts, Map<String, TreeMap<String, Long>> spellings) {
+        Map<String, Long> displayed = new LinkedHashMap<>();
+        counts.forEach((key, count) -> displayed.put(spellings.get(key).firstKey(), count));
+        return displayed;
+    }
+}
@@ -0,0 +1,11 @@
+package com.test.CompanyDriverPortal.search;
+
+import lombok.Value;
+
+// State and city of one driver or company (the details row shares its owner's id), the unit the facet counters are loaded in
+@Value
+public class LocationRow {
+    Long id;
+    String state;
+    String city;
+}
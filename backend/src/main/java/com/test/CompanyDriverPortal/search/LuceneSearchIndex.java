@@ -0,0 +1,444 @@
+package com.test.CompanyDriverPortal.search;
+
+import com.test.CompanyDriverPortal.dto.search.SearchHitDto;
+import com.test.CompanyDriverPortal.dto.search.SearchHitType;
+import com.test.CompanyDriverPortal.repository.CompanyRepository;
+import com.test.CompanyDriverPortal.repository.DriverRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+// Embedded Lucene index on local disk covering companies (+ details) and drivers (+ details).
+// Changes are applied after commit and become searchable through near-real-time reopen, the index is
+// committed to disk periodically and can be rebuilt from the database at any time.
+@Component
+public class LuceneSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LuceneSearchIndex.class);
+
+    private static final String FIELD_UID = "uid";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_SUBTITLE = "subtitle";
+    private static final String FIELD_NAME = "name";
+    private static final String FIELD_IDENTIFIER = "identifier";
+    private static final String FIELD_EMAIL = "email";
+    private static final String FIELD_LOCATION = "location";
+
+    // Relevance weights per field: a name hit ranks above a license/registration hit, which ranks above a city hit
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            FIELD_NAME, 3.0f,
+            FIELD_IDENTIFIER, 2.5f,
+            FIELD_EMAIL, 1.5f,
+            FIELD_LOCATION, 1.0f
+    );
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Value("${search.lucene.path:./data/search-index}")
+    private String indexPath;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private FSDirectory directory;
+
+    // Replaced (under pendingEvents) when a failed rebuild is rolled back
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+
+    // Guarded by itself. While a rebuild runs the writer holds a half-filled index that must not be refreshed
+    // into searches or committed, so change events are queued and applied on top of the rebuilt index.
+    private final List<Object> pendingEvents = new ArrayList<>();
+    private boolean rebuilding;
+    private boolean closed;
+
+    @PostConstruct
+    void open() throws IOException {
+        directory = FSDirectory.open(Paths.get(indexPath));
+        openWriter();
+    }
+
+    private void openWriter() throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    // An empty index (first start, or the directory was removed) is filled from the database in the background
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (writer.getDocStats().numDocs == 0) {
+            Thread builder = new Thread(this::rebuild, "lucene-search-index-build");
+            builder.setDaemon(true);
+            builder.start();
+        }
+    }
+
+    // Search both entity types (or only the requested ones) and return the best hits by relevance
+    public List<SearchHitDto> search(String queryText, Set<SearchHitType> types, int limit) {
+        Query query = buildQuery(queryText, types);
+        if (query == null) {
+            return List.of();
+        }
+
+        try {
+            SearcherManager manager = searcherManager; // release to the manager it was acquired from
+            IndexSearcher searcher = manager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, limit);
+                StoredFields storedFields = searcher.storedFields();
+                List<SearchHitDto> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    Document document = storedFields.document(scoreDoc.doc);
+                    hits.add(new SearchHitDto(
+                            SearchHitType.valueOf(document.get(FIELD_TYPE)),
+                            document.getField(FIELD_ID).numericValue().longValue(),
+                            document.get(FIELD_TITLE),
+                            document.get(FIELD_SUBTITLE),
+                            scoreDoc.score
+                    ));
+                }
+                return hits;
+            } finally {
+                manager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search index query failed", e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDriverChanged(DriverChangedEvent event) {
+        onChanged(event, "driver " + event.getDriverId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        onChanged(event, "company " + event.getCompanyId());
+    }
+
+    private void onChanged(Object event, String description) {
+        synchronized (pendingEvents) {
+            if (rebuilding) {
+                pendingEvents.add(event); // applied once the rebuild has re-added every row
+                return;
+            }
+            try {
+                apply(event);
+                searcherManager.maybeRefresh();
+            } catch (IOException e) {
+                log.error("Failed to update {} in the search index", description, e);
+            }
+        }
+    }
+
+    // updateDocument replaces every document with the same uid, so a replayed event also drops the older copy
+    // the rebuild may have added from a batch read before the change was committed
+    private void apply(Object event) throws IOException {
+        switch (event) {
+            case DriverChangedEvent driver -> {
+                Term uid = new Term(FIELD_UID, uid(SearchHitType.DRIVER, driver.getDriverId()));
+                if (driver.getCurrent() != null) {
+                    writer.updateDocument(uid, toLuceneDocument(driver.getCurrent()));
+                } else {
+                    writer.deleteDocuments(uid);
+                }
+            }
+            case CompanyChangedEvent company -> {
+                Term uid = new Term(FIELD_UID, uid(SearchHitType.COMPANY, company.getCompanyId()));
+                if (company.getCurrent() != null) {
+                    writer.updateDocument(uid, toLuceneDocument(company.getCurrent()));
+                } else {
+                    writer.deleteDocuments(uid);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unexpected search index event: " + event);
+        }
+    }
+
+    // Drop everything and re-index all companies and drivers from the database, returns the number of documents.
+    // Searches keep seeing the previous index until the rebuilt one, with queued changes applied, is refreshed in.
+    // If the rebuild fails the writer is rolled back to the commit taken here, so the previous index stays in place.
+    public synchronized long rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (pendingEvents) {
+            try {
+                writer.commit();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Search index rebuild failed", e);
+            }
+            rebuilding = true;
+        }
+
+        boolean built = false;
+        try {
+            writer.deleteAll();
+
+            LocalDateTime afterCreatedAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+            Long afterId = 0L;
+            List<CompanyDocument> companies;
+            do {
+                companies = companyRepository.findDocumentsAfter(afterCreatedAt, afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (CompanyDocument company : companies) {
+                    writer.addDocument(toLuceneDocument(company));
+                }
+                if (!companies.isEmpty()) {
+                    afterCreatedAt = companies.get(companies.size() - 1).getCreatedAt();
+                    afterId = companies.get(companies.size() - 1).getId();
+                }
+            } while (companies.size() == REBUILD_BATCH_SIZE);
+
+            afterCreatedAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+            afterId = 0L;
+            List<DriverDocument> drivers;
+            do {
+                drivers = driverRepository.findDocumentsAfter(afterCreatedAt, afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (DriverDocument driver : drivers) {
+                    writer.addDocument(toLuceneDocument(driver));
+                }
+                if (!drivers.isEmpty()) {
+                    afterCreatedAt = drivers.get(drivers.size() - 1).getCreatedAt();
+                    afterId = drivers.get(drivers.size() - 1).getId();
+                }
+            } while (drivers.size() == REBUILD_BATCH_SIZE);
+            built = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search index rebuild failed", e);
+        } finally {
+            if (built) {
+                finishRebuild();
+            } else {
+                abortRebuild();
+            }
+        }
+
+        long documents = writer.getDocStats().numDocs;
+        log.info("Search index rebuilt with {} documents in {} ms", documents, System.currentTimeMillis() - start);
+        return documents;
+    }
+
+    // Apply the changes queued during the rebuild, then commit and publish the result in one step
+    private void finishRebuild() {
+        synchronized (pendingEvents) {
+            try {
+                for (Object event : pendingEvents) {
+                    apply(event);
+                }
+                writer.commit();
+                searcherManager.maybeRefresh();
+            } catch (IOException e) {
+                log.error("Failed to publish the rebuilt search index", e);
+            } finally {
+                pendingEvents.clear();
+                rebuilding = false;
+            }
+        }
+    }
+
+    // Throw away everything since the commit at the start of the rebuild, then apply the queued changes to the old index
+    private void abortRebuild() {
+        synchronized (pendingEvents) {
+            try {
+                if (closed) {
+                    return; // shut down mid-rebuild, close() already rolled back
+                }
+                SearcherManager previousSearcherManager = searcherManager;
+                writer.rollback(); // also closes the writer
+                openWriter();
+                previousSearcherManager.close();
+                for (Object event : pendingEvents) {
+                    apply(event);
+                }
+                searcherManager.maybeRefresh();
+            } catch (IOException e) {
+                log.error("Failed to restore the search index after a failed rebuild", e);
+            } finally {
+                pendingEvents.clear();
+                rebuilding = false;
+            }
+        }
+    }
+
+    // Near-real-time reopen makes changes searchable right away, the commit only makes them durable
+    @Scheduled(fixedDelayString = "${search.lucene.commit-interval-ms:5000}")
+    public void commit() {
+        synchronized (pendingEvents) {
+            if (rebuilding || !writer.hasUncommittedChanges()) {
+                return; // never persist a half-built index
+            }
+            try {
+                writer.commit();
+            } catch (IOException e) {
+                log.error("Failed to commit the search index", e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        synchronized (pendingEvents) {
+            closed = true;
+            searcherManager.close();
+            if (rebuilding) {
+                writer.rollback(); // keep the last complete index on disk, not the half-built one
+            } else {
+                writer.close(); // commits pending changes
+            }
+            directory.close();
+        }
+    }
+
+    // Every query term must match at least one field; the last term also matches as a prefix (search as you type)
+    private Query buildQuery(String queryText, Set<SearchHitType> types) {
+        List<String> terms = analyze(queryText);
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (int i = 0; i < terms.size(); i++) {
+            boolean lastTerm = i == terms.size() - 1;
+            BooleanQuery.Builder termQuery = new BooleanQuery.Builder();
+            for (Map.Entry<String, Float> field : FIELD_BOOSTS.entrySet()) {
+                Term term = new Term(field.getKey(), terms.get(i));
+                termQuery.add(new BoostQuery(new TermQuery(term), field.getValue()), BooleanClause.Occur.SHOULD);
+                if (lastTerm) {
+                    termQuery.add(new BoostQuery(new PrefixQuery(term), field.getValue() * 0.5f), BooleanClause.Occur.SHOULD);
+                }
+            }
+            query.add(termQuery.build(), BooleanClause.Occur.MUST);
+        }
+
+        if (types != null && !types.isEmpty()) {
+            BooleanQuery.Builder typeFilter = new BooleanQuery.Builder();
+            for (SearchHitType type : types) {
+                typeFilter.add(new TermQuery(new Term(FIELD_TYPE, type.name())), BooleanClause.Occur.SHOULD);
+            }
+            query.add(typeFilter.build(), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    // Run the query text through the same analyzer as the indexed text so terms line up
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        try (TokenStream tokens = analyzer.tokenStream(FIELD_NAME, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private Document toLuceneDocument(DriverDocument driver) {
+        Document document = baseDocument(SearchHitType.DRIVER, driver.getId(),
+                join(" ", driver.getFirstName(), driver.getLastName()),
+                join(" · ", driver.getLicenseNumber(), join(", ", driver.getCity(), driver.getState())));
+        addText(document, FIELD_NAME, join(" ", driver.getFirstName(), driver.getLastName()));
+        addText(document, FIELD_IDENTIFIER, driver.getLicenseNumber());
+        addText(document, FIELD_EMAIL, driver.getEmail());
+        addText(document, FIELD_LOCATION, join(" ", driver.getCity(), driver.getState()));
+        return document;
+    }
+
+    private Document toLuceneDocument(CompanyDocument company) {
+        Document document = baseDocument(SearchHitType.COMPANY, company.getId(),
+                company.getCompanyName(),
+                join(" · ", company.getRegistrationNumber(), join(", ", company.getCity(), company.getState())));
+        addText(document, FIELD_NAME, company.getCompanyName());
+        addText(document, FIELD_IDENTIFIER, company.getRegistrationNumber());
+        addText(document, FIELD_EMAIL, company.getPrimaryContactEmail());
+        addText(document, FIELD_LOCATION, join(" ", company.getCity(), company.getState()));
+        return document;
+    }
+
+    private Document baseDocument(SearchHitType type, Long id, String title, String subtitle) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_UID, uid(type, id), Field.Store.NO));
+        document.add(new StringField(FIELD_TYPE, type.name(), Field.Store.YES));
+        document.add(new StoredField(FIELD_ID, id.longValue()));
+        document.add(new StoredField(FIELD_TITLE, title));
+        document.add(new StoredField(FIELD_SUBTITLE, subtitle));
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private static String uid(SearchHitType type, Long id) {
+        return type.name() + ":" + id;
+    }
+
+    private static String join(String separator, String... parts) {
+        StringJoiner joiner = new StringJoiner(separator);
+        for (String part : parts) {
+            if (part != null && !part.isBlank()) {
+                joiner.add(part);
+            }
+        }
+        return joiner.toString();
+    }
+}
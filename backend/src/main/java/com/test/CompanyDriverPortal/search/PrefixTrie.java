@@ -0,0 +1,165 @@
+package com.test.CompanyDriverPortal.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+// Prefix trie in which every node caches the best completions of its subtree, so a lookup is a walk down the
+// prefix plus a copy of at most topK entries. Terms are counted, the most frequent ones rank first.
+// Keys are matched case-insensitively and the most recently added spelling is the one suggested.
+// Not thread-safe, SuggestionIndex guards it.
+public class PrefixTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    private static final Comparator<Suggestion> RANKING = Comparator
+            .comparingInt(Suggestion::getWeight).reversed()
+            .thenComparing(Suggestion::getText);
+
+    private final int topK;
+    private final Node root = new Node();
+
+    public PrefixTrie(int topK) {
+        this.topK = topK;
+    }
+
+    public void add(String term) {
+        update(term, 1);
+    }
+
+    public void remove(String term) {
+        update(term, -1);
+    }
+
+    // Best completions of the prefix, most frequent first (an empty prefix returns the most frequent terms overall)
+    public List<Suggestion> complete(String prefix, int limit) {
+        String key = prefix != null ? normalize(prefix) : "";
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+    }
+
+    private void update(String term, int delta) {
+        if (term == null) {
+            return;
+        }
+        String display = term.trim().replaceAll("\\s+", " ");
+        String key = display.toLowerCase(Locale.ROOT);
+        if (key.isEmpty()) {
+            return;
+        }
+
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                if (delta < 0) {
+                    return; // never added
+                }
+                child = node.addChild(key.charAt(i));
+            }
+            node = child;
+            path[i + 1] = node;
+        }
+
+        if (delta < 0 && node.weight == 0) {
+            return;
+        }
+        node.weight += delta;
+        if (delta > 0) {
+            node.display = display;
+        } else if (node.weight == 0) {
+            node.display = null;
+        }
+
+        // Refresh the cached completions bottom-up, pruning nodes that no longer lead to any term
+        for (int depth = key.length(); depth >= 0; depth--) {
+            Node current = path[depth];
+            current.top = best(current);
+            if (depth > 0 && current.weight == 0 && current.keys.length == 0) {
+                path[depth - 1].removeChild(key.charAt(depth - 1));
+            }
+        }
+    }
+
+    private Suggestion[] best(Node node) {
+        int candidateCount = node.weight > 0 ? 1 : 0;
+        for (Node child : node.children) {
+            candidateCount += child.top.length;
+        }
+        if (candidateCount == 0) {
+            return NO_SUGGESTIONS;
+        }
+
+        Suggestion[] candidates = new Suggestion[candidateCount];
+        int n = 0;
+        if (node.weight > 0) {
+            candidates[n++] = new Suggestion(node.display, node.weight);
+        }
+        for (Node child : node.children) {
+            System.arraycopy(child.top, 0, candidates, n, child.top.length);
+            n += child.top.length;
+        }
+        Arrays.sort(candidates, RANKING);
+        return candidates.length > topK ? Arrays.copyOf(candidates, topK) : candidates;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // Children are kept in parallel arrays sorted by character, which is far smaller than a map per node
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        String display;
+        int weight;
+        Suggestion[] top = NO_SUGGESTIONS;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char c) {
+            int index = -(Arrays.binarySearch(keys, c) + 1);
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            Node child = new Node();
+            newKeys[index] = c;
+            newChildren[index] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys.length == 0 ? NO_KEYS : newKeys;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.test.CompanyDriverPortal.search;
+
+import com.test.CompanyDriverPortal.util.SearchText;
+import lombok.Value;
+
+// What a single search box entry most likely is, using the same rules the frontend used to apply one request at a time:
+// an "@" means an email, a digit means a license/registration number, two words mean "first last", anything else is a word
+// that may be a name or a location. Terms are normalized like the *_norm columns; LikePatterns turns them into escaped LIKE patterns.
+@Value
+public class QuickSearchTerm {
+
+    public enum Kind { EMAIL, IDENTIFIER, FULL_NAME, WORD }
+
+    Kind kind;
+    String term;
+    String firstWord;
+    String secondWord;
+
+    public static QuickSearchTerm classify(String query) {
+        String term = SearchText.normalize(query);
+        if (term.contains("@")) {
+            return new QuickSearchTerm(Kind.EMAIL, term, null, null);
+        }
+        if (term.chars().anyMatch(Character::isDigit)) {
+            return new QuickSearchTerm(Kind.IDENTIFIER, term, null, null);
+        }
+        String[] words = term.split("\\s+");
+        if (words.length > 1) {
+            return new QuickSearchTerm(Kind.FULL_NAME, term, words[0], words[1]);
+        }
+        return new QuickSearchTerm(Kind.WORD, term, null, null);
+    }
+}
@@ -0,0 +1,88 @@
+package com.test.CompanyDriverPortal.search;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+// Handle for cancelling the statements of one search request from another thread, e.g. when the client disconnects.
+// The request thread binds it while it works; every timed search transaction registers its Hibernate session here,
+// and cancel() asks each registered session to cancel its running JDBC statement.
+public class SearchCancellation {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchCancellation.class);
+
+    private static final ThreadLocal<SearchCancellation> CURRENT = new ThreadLocal<>();
+
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+    private final List<SearchCancellation> children = new CopyOnWriteArrayList<>();
+    private volatile boolean cancelled;
+
+    // The cancellation bound to the calling thread, or null when the search was not started from a cancellable request
+    public static SearchCancellation current() {
+        return CURRENT.get();
+    }
+
+    // Run the work with this cancellation bound to the calling thread, restoring whatever was bound before
+    public <T> T call(Supplier<T> work) {
+        SearchCancellation previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    // A cancellation for work started on another thread; cancelling this one cancels it too, but not the other way round
+    public SearchCancellation newChild() {
+        SearchCancellation child = new SearchCancellation();
+        children.add(child);
+        if (cancelled) {
+            child.cancel();
+        }
+        return child;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        for (Session session : sessions) {
+            cancelStatement(session);
+        }
+        children.forEach(SearchCancellation::cancel);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    void register(Session session) {
+        sessions.add(session);
+        if (cancelled) {
+            cancelStatement(session); // cancelled between the check in the caller and the add above
+            throw new SearchCancelledException();
+        }
+    }
+
+    void unregister(Session session) {
+        sessions.remove(session);
+    }
+
+    private static void cancelStatement(Session session) {
+        try {
+            session.cancelQuery();
+        } catch (HibernateException e) {
+            log.debug("Could not cancel running search statement", e); // nothing running, or the session just closed
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.test.CompanyDriverPortal.search;
+
+// Thrown out of a search whose statements were cancelled because its client went away.
+// Nobody is left to read the response, so it is never mapped to a status of its own.
+public class SearchCancelledException extends RuntimeException {
+
+    public SearchCancelledException() {
+        super("Search was cancelled because the client disconnected");
+    }
+
+    public SearchCancelledException(Throwable cause) {
+        super("Search was cancelled because the client disconnected", cause);
+    }
+}
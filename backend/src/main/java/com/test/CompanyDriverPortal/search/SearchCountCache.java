@@ -0,0 +1,123 @@
+package com.test.CompanyDriverPortal.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.CompanyDriverPortal.dto.search.MatchMode;
+import com.test.CompanyDriverPortal.util.SearchText;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Short-lived search totals keyed by the normalized filter set, so flipping pages does not re-run the COUNT query.
+// Every committed write to the entity type drops all of its cached totals.
+@Component
+public class SearchCountCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.count-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${search.count-cache.ttl:PT30S}")
+    private Duration ttl;
+
+    private Cache<List<Object>, Long> driverCounts;
+    private Cache<List<Object>, Long> companyCounts;
+
+    // Bumped on every invalidation so a count that started before a write is not cached after it
+    private final AtomicLong driverGeneration = new AtomicLong();
+    private final AtomicLong companyGeneration = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        driverCounts = newCache();
+        companyCounts = newCache();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, driverCounts, "search.count.drivers");
+        CaffeineCacheMetrics.monitor(meterRegistry, companyCounts, "search.count.companies");
+    }
+
+    public long driverCount(LongSupplier counter, Object... filters) {
+        return get(driverCounts, driverGeneration, counter, filters);
+    }
+
+    public long companyCount(LongSupplier counter, Object... filters) {
+        return get(companyCounts, companyGeneration, counter, filters);
+    }
+
+    // Match modes are part of the key as one extra filter value, overrides sorted so equal maps give equal keys.
+    // Not a String, so it is not normalized: field names in matchModes are validated case-sensitively.
+    public static List<Object> matchModesKey(MatchMode matchMode, Map<String, MatchMode> matchModes) {
+        Map<String, MatchMode> overrides = matchModes == null ? Map.of() : new TreeMap<>(matchModes);
+        return List.of(matchMode != null ? matchMode : MatchMode.CONTAINS, overrides);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDriverChanged(DriverChangedEvent event) {
+        invalidateDrivers();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        invalidateCompanies();
+    }
+
+    // Also called after a read-model rebuild, which changes rows without publishing change events
+    public void invalidateDrivers() {
+        driverGeneration.incrementAndGet();
+        driverCounts.invalidateAll();
+    }
+
+    public void invalidateCompanies() {
+        companyGeneration.incrementAndGet();
+        companyCounts.invalidateAll();
+    }
+
+    private Cache<List<Object>, Long> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    private static long get(Cache<List<Object>, Long> cache, AtomicLong generation, LongSupplier counter, Object... filters) {
+        List<Object> key = normalize(filters);
+        Long cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        long count = counter.getAsLong();
+        if (generation.get() == startGeneration) {
+            cache.put(key, count);
+        }
+        return count;
+    }
+
+    // The search predicates compare normalized columns with normalized terms, so terms that normalize the same share
+    // a count. Null (no filter) and "" (matches any non-null value) stay distinct because they can count differently.
+    // Range bounds and other non-text filters are used as they are.
+    private static List<Object> normalize(Object... filters) {
+        Object[] key = new Object[filters.length];
+        for (int i = 0; i < filters.length; i++) {
+            key[i] = filters[i] instanceof String text ? SearchText.normalize(text) : filters[i];
+        }
+        return Arrays.asList(key);
+    }
+}
@@ -0,0 +1,179 @@
+package com.test.CompanyDriverPortal.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.CompanyDriverPortal.dto.company.CompanyResponseDto;
+import com.test.CompanyDriverPortal.dto.driver.DriverResponseDto;
+import com.test.CompanyDriverPortal.dto.search.LowerBoundPage;
+import com.test.CompanyDriverPortal.util.SearchText;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Whole search result pages keyed by the normalized search request, so identical dashboard and list requests share
+// one database execution. Concurrent misses for the same key wait for the first caller's query (single-flight)
+// instead of running their own. The key starts with a version stamp that every committed write bumps, so a
+// request that arrives after a write never sees or joins a result computed before it.
+@Component
+public class SearchResultCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.result-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.result-cache.max-size:1000}")
+    private long maxSize;
+
+    @Value("${search.result-cache.ttl:PT10S}")
+    private Duration ttl;
+
+    private Region<DriverResponseDto> drivers;
+    private Region<CompanyResponseDto> companies;
+
+    @PostConstruct
+    void init() {
+        drivers = new Region<>("drivers");
+        companies = new Region<>("companies");
+    }
+
+    public Page<DriverResponseDto> driverPage(Supplier<Page<DriverResponseDto>> search, Object... request) {
+        return enabled ? drivers.get(search, request) : search.get();
+    }
+
+    // Wraps a request field that is not search text (e.g. sortBy) so the key compares it exactly instead of normalized
+    public static Object verbatim(String value) {
+        return new Verbatim(value);
+    }
+
+    public Page<CompanyResponseDto> companyPage(Supplier<Page<CompanyResponseDto>> search, Object... request) {
+        return enabled ? companies.get(search, request) : search.get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDriverChanged(DriverChangedEvent event) {
+        invalidateDrivers();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        invalidateCompanies();
+    }
+
+    // Also called after a read-model rebuild, which changes rows without publishing change events
+    public void invalidateDrivers() {
+        drivers.invalidate();
+    }
+
+    public void invalidateCompanies() {
+        companies.invalidate();
+    }
+
+    // Cache, version stamp and in-flight queries for one entity type
+    private class Region<T> {
+
+        private final Cache<List<Object>, Page<T>> pages;
+        private final ConcurrentMap<List<Object>, CompletableFuture<Page<T>>> inFlight = new ConcurrentHashMap<>();
+        private final AtomicLong version = new AtomicLong();
+        private final Counter coalesced;
+
+        Region(String name) {
+            pages = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+
+            // Exposes cache.gets{result=hit|miss}, cache.size and cache.evictions under "search.results.<name>"
+            CaffeineCacheMetrics.monitor(meterRegistry, pages, "search.results." + name);
+            coalesced = Counter.builder("search.results.coalesced")
+                    .description("Search requests that waited for an identical in-flight query instead of running their own")
+                    .tag("type", name)
+                    .register(meterRegistry);
+        }
+
+        Page<T> get(Supplier<Page<T>> search, Object... request) {
+            long startVersion = version.get();
+            List<Object> key = key(startVersion, request);
+            Page<T> cached = pages.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            CompletableFuture<Page<T>> mine = new CompletableFuture<>();
+            CompletableFuture<Page<T>> running = inFlight.putIfAbsent(key, mine);
+            if (running != null) {
+                coalesced.increment();
+                try {
+                    return await(running);
+                } catch (SearchCancelledException e) {
+                    return get(search, request); // the leader's client went away, this one is still waiting for a result
+                }
+            }
+
+            try {
+                Page<T> page = search.get();
+                // Skip pages a write committed meanwhile made unreachable, and pages whose count timed out: a lower-bound
+                // total must not be served to later requests as if it were exact
+                if (version.get() == startVersion && !LowerBoundPage.isLowerBound(page)) {
+                    pages.put(key, page);
+                }
+                mine.complete(page);
+                return page;
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e); // followers get the same error, nothing is cached
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+
+        // New requests key on the new version at once; the old entries can no longer be reached, so free them
+        void invalidate() {
+            version.incrementAndGet();
+            pages.invalidateAll();
+        }
+
+        private Page<T> await(CompletableFuture<Page<T>> running) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause; // same exception the leader saw, so the error handler maps it the same way
+                }
+                throw e;
+            }
+        }
+    }
+
+    private record Verbatim(String value) {
+    }
+
+    // Version first, then the request with filter text normalized the way the search predicates compare it
+    private static List<Object> key(long version, Object... request) {
+        List<Object> key = new ArrayList<>(request.length + 1);
+        key.add(version);
+        for (Object part : request) {
+            key.add(part instanceof String text ? SearchText.normalize(text) : part);
+        }
+        return key;
+    }
+}
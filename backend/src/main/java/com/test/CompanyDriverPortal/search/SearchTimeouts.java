@@ -0,0 +1,148 @@
+package com.test.CompanyDriverPortal.search;
+
+import com.test.CompanyDriverPortal.globalException.SearchTimeoutException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+// Per-endpoint statement timeouts for the search endpoints, plus cancellation when the client goes away.
+// Each search runs in a read-only transaction with a timeout; Spring hands the time left to every query as
+// jakarta.persistence.query.timeout, so the JDBC driver cancels a statement that overruns and its pooled
+// connection is returned instead of being held by one bad query.
+@Component
+public class SearchTimeouts {
+
+    // Extra time the async request gets on top of the statement timeout, so the statement timeout normally fires first
+    private static final Duration ASYNC_GRACE = Duration.ofSeconds(2);
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${search.statement-timeout.search:PT5S}") // POST search, slice and cursor endpoints
+    private Duration searchTimeout;
+
+    @Value("${search.statement-timeout.quick-search:PT3S}") // GET quick-search endpoints
+    private Duration quickSearchTimeout;
+
+    private TransactionTemplate searchTransaction;
+    private TransactionTemplate quickSearchTransaction;
+
+    // One virtual thread per search request. Without an executor of its own a WebAsyncTask lands on Boot's shared
+    // applicationTaskExecutor (8 threads, unbounded queue), where searches would queue behind each other and burn
+    // their async timeout before a query even starts; the connection pool is what bounds concurrent searches.
+    private SimpleAsyncTaskExecutor searchExecutor;
+
+    @PostConstruct
+    void init() {
+        searchTransaction = readOnlyTransaction(searchTimeout);
+        quickSearchTransaction = readOnlyTransaction(quickSearchTimeout);
+
+        searchExecutor = new SimpleAsyncTaskExecutor("search-");
+        searchExecutor.setVirtualThreads(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        searchExecutor.close();
+    }
+
+    // Run the queries of a filtered search under the search timeout
+    public <T> T search(Supplier<T> queries) {
+        return run(searchTransaction, searchTimeout, queries);
+    }
+
+    // Run the queries of a quick search under the (shorter) quick-search timeout
+    public <T> T quickSearch(Supplier<T> queries) {
+        return run(quickSearchTransaction, quickSearchTimeout, queries);
+    }
+
+    // Async request for a search endpoint: the work runs off the servlet thread and is cancelled if the client disconnects
+    public <T> WebAsyncTask<T> searchTask(Supplier<T> work) {
+        return asyncTask(searchTimeout, work);
+    }
+
+    // Async request for a quick-search endpoint
+    public <T> WebAsyncTask<T> quickSearchTask(Supplier<T> work) {
+        return asyncTask(quickSearchTimeout, work);
+    }
+
+    private <T> T run(TransactionTemplate transaction, Duration timeout, Supplier<T> queries) {
+        SearchCancellation cancellation = SearchCancellation.current();
+        if (cancellation != null && cancellation.isCancelled()) {
+            throw new SearchCancelledException();
+        }
+
+        try {
+            return transaction.execute(status -> {
+                if (cancellation == null) {
+                    return queries.get();
+                }
+                Session session = entityManager.unwrap(Session.class);
+                cancellation.register(session);
+                try {
+                    return queries.get();
+                } finally {
+                    cancellation.unregister(session);
+                }
+            });
+        } catch (QueryTimeoutException | jakarta.persistence.QueryTimeoutException | TransactionTimedOutException e) {
+            throw new SearchTimeoutException(
+                    "Search did not finish within " + timeout.toSeconds() + " seconds, narrow the filters and try again", e);
+        } catch (SearchCancelledException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (cancellation != null && cancellation.isCancelled()) {
+                throw new SearchCancelledException(e); // the driver reports a cancelled statement as an ordinary SQL error
+            }
+            throw e;
+        }
+    }
+
+    private <T> WebAsyncTask<T> asyncTask(Duration timeout, Supplier<T> work) {
+        SearchCancellation cancellation = new SearchCancellation();
+        WebAsyncTask<T> task = new WebAsyncTask<>(timeout.plus(ASYNC_GRACE).toMillis(), searchExecutor, () -> cancellation.call(work));
+
+        // Client disconnected or the container failed the request: stop the statements, nobody will read the result
+        task.onError(cancelAnd(cancellation));
+        task.onTimeout(() -> {
+            cancellation.cancel();
+            throw new SearchTimeoutException(
+                    "Search did not finish within " + timeout.toSeconds() + " seconds, narrow the filters and try again");
+        });
+        return task;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Callable<T> cancelAnd(SearchCancellation cancellation) {
+        return () -> {
+            cancellation.cancel();
+            return (T) CallableProcessingInterceptor.RESULT_NONE; // keep the container's default error handling
+        };
+    }
+
+    private TransactionTemplate readOnlyTransaction(Duration timeout) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000)); // transaction timeouts are whole seconds
+        return template;
+    }
+}
@@ -0,0 +1,10 @@
+package com.test.CompanyDriverPortal.search;
+
+import lombok.Value;
+
+// One completion cached in a PrefixTrie node: the spelling to show and how many records carry it
+@Value
+public class Suggestion {
+    String text;
+    int weight;
+}
@@ -0,0 +1,263 @@
+package com.test.CompanyDriverPortal.search;
+
+import com.test.CompanyDriverPortal.dto.search.SuggestField;
+import com.test.CompanyDriverPortal.repository.CompanyRepository;
+import com.test.CompanyDriverPortal.repository.DriverRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Typeahead completions for driver names, license numbers, company names, registration numbers and cities.
+// One PrefixTrie per field, filled from the database in the background at startup and kept current from the
+// driver/company change events after every committed write. The document last counted for each id is kept, so an
+// event always replaces exactly what was counted for that id; replaying the events queued during a build (which
+// the live scan may already have seen) is therefore idempotent.
+@Component
+public class SuggestionIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestionIndex.class);
+
+    private static final int BUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.suggest.top-k:10}") // completions cached per trie node, also the largest limit a caller can ask for
+    private int topK;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private SuggestionState state;
+    private boolean building;
+    private final List<Object> pendingEvents = new ArrayList<>();
+
+    private Timer lookupTimer;
+
+    @PostConstruct
+    void init() {
+        state = new SuggestionState(newTries());
+        lookupTimer = Timer.builder("search.suggest")
+                .description("Typeahead lookup latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public List<Suggestion> suggest(SuggestField field, String prefix, int limit) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return state.tries.get(field).complete(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+            lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDriverChanged(DriverChangedEvent event) {
+        onChange(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        onChange(event);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread builder = new Thread(this::rebuild, "suggestion-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    // Rebuild every trie from the database without blocking lookups or writes
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            building = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        SuggestionState fresh = new SuggestionState(newTries());
+        try {
+            long start = System.currentTimeMillis();
+            LocalDateTime afterCreatedAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+            Long afterId = 0L;
+            List<DriverDocument> drivers;
+            do {
+                drivers = driverRepository.findDocumentsAfter(afterCreatedAt, afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+                for (DriverDocument driver : drivers) {
+                    fresh.putDriver(driver);
+                }
+                if (!drivers.isEmpty()) {
+                    afterCreatedAt = drivers.get(drivers.size() - 1).getCreatedAt();
+                    afterId = drivers.get(drivers.size() - 1).getId();
+                }
+            } while (drivers.size() == BUILD_BATCH_SIZE);
+
+            afterCreatedAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+            afterId = 0L;
+            List<CompanyDocument> companies;
+            do {
+                companies = companyRepository.findDocumentsAfter(afterCreatedAt, afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+                for (CompanyDocument company : companies) {
+                    fresh.putCompany(company);
+                }
+                if (!companies.isEmpty()) {
+                    afterCreatedAt = companies.get(companies.size() - 1).getCreatedAt();
+                    afterId = companies.get(companies.size() - 1).getId();
+                }
+            } while (companies.size() == BUILD_BATCH_SIZE);
+            log.info("Suggestion index built in {} ms", System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Suggestion index build failed, suggestions stay incomplete until the next rebuild", e);
+            lock.writeLock().lock();
+            try {
+                pendingEvents.forEach(state::apply);
+                pendingEvents.clear();
+                building = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingEvents.forEach(fresh::apply);
+            pendingEvents.clear();
+            state = fresh;
+            building = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void onChange(Object event) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                pendingEvents.add(event); // replayed on top of the fresh tries once the build finishes
+            } else {
+                state.apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<SuggestField, PrefixTrie> newTries() {
+        Map<SuggestField, PrefixTrie> map = new EnumMap<>(SuggestField.class);
+        for (SuggestField field : SuggestField.values()) {
+            map.put(field, new PrefixTrie(topK));
+        }
+        return map;
+    }
+
+    // The tries plus the document each of their counts came from. Not thread-safe, guarded by the outer lock.
+    private static class SuggestionState {
+
+        private final Map<SuggestField, PrefixTrie> tries;
+        private final Map<Long, DriverDocument> drivers = new HashMap<>();
+        private final Map<Long, CompanyDocument> companies = new HashMap<>();
+
+        SuggestionState(Map<SuggestField, PrefixTrie> tries) {
+            this.tries = tries;
+        }
+
+        // The event's current document replaces whatever was counted for the id; its previous one is not trusted,
+        // because a build may never have counted it
+        void apply(Object event) {
+            if (event instanceof DriverChangedEvent driverEvent) {
+                if (driverEvent.getCurrent() != null) {
+                    putDriver(driverEvent.getCurrent());
+                } else {
+                    removeDriver(driverEvent.getDriverId());
+                }
+            } else if (event instanceof CompanyChangedEvent companyEvent) {
+                if (companyEvent.getCurrent() != null) {
+                    putCompany(companyEvent.getCurrent());
+                } else {
+                    removeCompany(companyEvent.getCompanyId());
+                }
+            }
+        }
+
+        void putDriver(DriverDocument driver) {
+            removeDriver(driver.getId());
+            drivers.put(driver.getId(), driver);
+            indexDriver(tries, driver, true);
+        }
+
+        void removeDriver(Long driverId) {
+            DriverDocument counted = drivers.remove(driverId);
+            if (counted != null) {
+                indexDriver(tries, counted, false);
+            }
+        }
+
+        void putCompany(CompanyDocument company) {
+            removeCompany(company.getId());
+            companies.put(company.getId(), company);
+            indexCompany(tries, company, true);
+        }
+
+        void removeCompany(Long companyId) {
+            CompanyDocument counted = companies.remove(companyId);
+            if (counted != null) {
+                indexCompany(tries, counted, false);
+            }
+        }
+    }
+
+    private static void indexDriver(Map<SuggestField, PrefixTrie> tries, DriverDocument driver, boolean add) {
+        update(tries.get(SuggestField.DRIVER_NAME), driver.getFirstName() + " " + driver.getLastName(), add);
+        update(tries.get(SuggestField.LICENSE_NUMBER), driver.getLicenseNumber(), add);
+        update(tries.get(SuggestField.CITY), driver.getCity(), add);
+    }
+
+    private static void indexCompany(Map<SuggestField, PrefixTrie> tries, CompanyDocument company, boolean add) {
+        update(tries.get(SuggestField.COMPANY_NAME), company.getCompanyName(), add);
+        update(tries.get(SuggestField.REGISTRATION_NUMBER), company.getRegistrationNumber(), add);
+        update(tries.get(SuggestField.CITY), company.getCity(), add);
+    }
+
+    private static void update(PrefixTrie trie, String term, boolean add) {
+        if (add) {
+            trie.add(term);
+        } else {
+            trie.remove(term);
+        }
+    }
+}
@@ -3,7 +3,9 @@ package com.test.CompanyDriverPortal.service;
 import com.test.CompanyDriverPortal.dto.company.CompanyRequestDto;
 import com.test.CompanyDriverPortal.dto.company.CompanyResponseDto;
 import com.test.CompanyDriverPortal.dto.company.CompanySearchDto;
+import com.test.CompanyDriverPortal.dto.search.CursorPageDto;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -13,5 +15,8 @@ public interface CompanyService {
     CompanyResponseDto getCompanyById(Long id);
     List<CompanyResponseDto> getAllCompanies();
     Page<CompanyResponseDto> searchCompanies(CompanySearchDto searchDto);
+    Page<CompanyResponseDto> quickSearchCompanies(String query, int page, int size);
+    Slice<CompanyResponseDto> searchCompaniesSlice(CompanySearchDto searchDto);
+    CursorPageDto<CompanyResponseDto> searchCompaniesByCursor(CompanySearchDto searchDto);
     void deleteCompany(Long id);
 }
\ No newline at end of file
@@ -3,7 +3,9 @@ package com.test.CompanyDriverPortal.service;
 import com.test.CompanyDriverPortal.dto.driver.DriverRequestDto;
 import com.test.CompanyDriverPortal.dto.driver.DriverResponseDto;
 import com.test.CompanyDriverPortal.dto.driver.DriverSearchDto;
+import com.test.CompanyDriverPortal.dto.search.CursorPageDto;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -13,5 +15,9 @@ public interface DriverService {
     DriverResponseDto getDriverById(Long id);
     List<DriverResponseDto> getAllDrivers();
     Page<DriverResponseDto> searchDrivers(DriverSearchDto searchDto);
+    Page<DriverResponseDto> quickSearchDrivers(String query, int page, int size);
+    List<DriverResponseDto> fuzzySearchDrivers(String name, int limit);
+    Slice<DriverResponseDto> searchDriversSlice(DriverSearchDto searchDto);
+    CursorPageDto<DriverResponseDto> searchDriversByCursor(DriverSearchDto searchDto);
     void deleteDriver(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.test.CompanyDriverPortal.service;
+
+import com.test.CompanyDriverPortal.model.Company;
+import com.test.CompanyDriverPortal.model.CompanyReadModel;
+import com.test.CompanyDriverPortal.model.Driver;
+import com.test.CompanyDriverPortal.model.DriverReadModel;
+
+public interface ReadModelService {
+    DriverReadModel saveDriver(Driver driver);
+    void deleteDriver(Long id);
+    CompanyReadModel saveCompany(Company company);
+    void deleteCompany(Long id);
+    long rebuildDrivers();
+    long rebuildCompanies();
+}
@@ -0,0 +1,15 @@
+package com.test.CompanyDriverPortal.service;
+
+import com.test.CompanyDriverPortal.dto.search.SearchHitDto;
+import com.test.CompanyDriverPortal.dto.search.SearchHitType;
+import com.test.CompanyDriverPortal.dto.search.SuggestField;
+import com.test.CompanyDriverPortal.dto.search.SuggestionDto;
+
+import java.util.List;
+import java.util.Set;
+
+public interface SearchService {
+    List<SearchHitDto> search(String query, Set<SearchHitType> types, int limit);
+    long rebuildIndex();
+    List<SuggestionDto> suggest(SuggestField field, String prefix, int limit);
+}
@@ -1,16 +1,20 @@
 package com.test.CompanyDriverPortal.service.impl;
 
+import com.test.CompanyDriverPortal.config.AuthenticatedUser;
 import com.test.CompanyDriverPortal.config.JwtUtil;
+import com.test.CompanyDriverPortal.config.TokenEpochTable;
 import com.test.CompanyDriverPortal.dto.auth.LoginRequest;
 import com.test.CompanyDriverPortal.dto.auth.LoginResponse;
 import com.test.CompanyDriverPortal.dto.auth.RegisterRequest;
+import com.test.CompanyDriverPortal.globalException.ServiceUnavailableException;
 import com.test.CompanyDriverPortal.model.User;
 import com.test.CompanyDriverPortal.repository.UserRepository;
 import com.test.CompanyDriverPortal.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -29,6 +33,9 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private TokenEpochTable tokenEpochTable;
+
     @Override
     public LoginResponse register(RegisterRequest registerRequest) {
         if (userRepository.existsByUsername(registerRequest.getUsername())) {
@@ -55,11 +62,14 @@ public class AuthServiceImpl implements AuthService {
         user.setActive(true);
 
         User savedUser = userRepository.save(user);
+        tokenEpochTable.put(savedUser.getId(), savedUser.getTokenEpoch());
 
         // Generate JWT token for the newly registered user
         String token = jwtUtil.generateToken(
+                savedUser.getId(),
                 savedUser.getUsername(),
-                savedUser.getRole().name());
+                savedUser.getRole().name(),
+                savedUser.getTokenEpoch());
 
         return new LoginResponse(
                 token,
@@ -73,24 +83,31 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public LoginResponse login(LoginRequest loginRequest) {
 
-        // Spring Security handles invalid username/password
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsername(),
-                        loginRequest.getPassword()
-                )
-        );
+        // Spring Security handles invalid username/password. The principal it returns already carries
+        // the user record loaded during authentication, so the users table is read exactly once per login.
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsername(),
+                            loginRequest.getPassword()
+                    )
+            );
+        } catch (InternalAuthenticationServiceException e) {
+            // The provider wraps a full password-hashing queue, surface it as the 503 it is
+            if (e.getCause() instanceof ServiceUnavailableException serviceUnavailable) {
+                throw serviceUnavailable;
+            }
+            throw e;
+        }
 
-        User user = userRepository.findByUsername(loginRequest.getUsername())
-                .orElseThrow(() ->
-                        new UsernameNotFoundException(
-                                "User not found: " + loginRequest.getUsername()
-                        )
-                );
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
 
         String token = jwtUtil.generateToken(
+                user.getId(),
                 user.getUsername(),
-                user.getRole().name()
+                user.getRole().name(),
+                user.getTokenEpoch()
         );
 
         return new LoginResponse(
@@ -3,20 +3,44 @@ package com.test.CompanyDriverPortal.service.impl;
 import com.test.CompanyDriverPortal.dto.company.CompanyRequestDto;
 import com.test.CompanyDriverPortal.dto.company.CompanyResponseDto;
 import com.test.CompanyDriverPortal.dto.company.CompanySearchDto;
+import com.test.CompanyDriverPortal.dto.search.CountMode;
+import com.test.CompanyDriverPortal.dto.search.CursorPageDto;
+import com.test.CompanyDriverPortal.dto.search.FacetCountsDto;
+import com.test.CompanyDriverPortal.dto.search.FacetedPage;
+import com.test.CompanyDriverPortal.dto.search.MatchMode;
 import com.test.CompanyDriverPortal.globalException.ResourceNotFoundException;
 import com.test.CompanyDriverPortal.model.Company;
 import com.test.CompanyDriverPortal.model.CompanyDetails;
+import com.test.CompanyDriverPortal.model.CompanyReadModel;
+import com.test.CompanyDriverPortal.repository.CompanyReadModelRepository;
 import com.test.CompanyDriverPortal.repository.CompanyRepository;
+import com.test.CompanyDriverPortal.repository.CompanySpecifications;
+import com.test.CompanyDriverPortal.search.CompanyChangedEvent;
+import com.test.CompanyDriverPortal.search.CompanyDocument;
+import com.test.CompanyDriverPortal.search.ConcurrentPageQuery;
+import com.test.CompanyDriverPortal.search.LocationFacetIndex;
+import com.test.CompanyDriverPortal.search.QuickSearchTerm;
+import com.test.CompanyDriverPortal.search.SearchCountCache;
+import com.test.CompanyDriverPortal.search.SearchResultCache;
+import com.test.CompanyDriverPortal.search.SearchTimeouts;
 import com.test.CompanyDriverPortal.service.CompanyService;
+import com.test.CompanyDriverPortal.service.ReadModelService;
+import com.test.CompanyDriverPortal.util.LikePatterns;
+import com.test.CompanyDriverPortal.util.SearchCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,11 +49,35 @@ public class CompanyServiceImpl implements CompanyService {
     @Autowired
     private CompanyRepository companyRepository;
 
+    @Autowired
+    private CompanyReadModelRepository companyReadModelRepository;
+
+    @Autowired
+    private ReadModelService readModelService;
+
+    @Autowired
+    private LocationFacetIndex locationFacetIndex;
+
+    @Autowired
+    private SearchCountCache searchCountCache;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private ConcurrentPageQuery concurrentPageQuery;
+
+    @Autowired
+    private SearchTimeouts searchTimeouts;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional
     public CompanyResponseDto createCompany(CompanyRequestDto requestDto) {
         // Check if registration number already exists
-        if (companyRepository.findByRegistrationNumber(requestDto.getRegistrationNumber()).isPresent()) {
+        if (companyRepository.existsByRegistrationNumber(requestDto.getRegistrationNumber())) {
             throw new RuntimeException("Company with this registration number already exists");
         }
 
@@ -56,7 +104,9 @@ public class CompanyServiceImpl implements CompanyService {
         company.setCompanyDetails(details);
 
         Company savedCompany = companyRepository.save(company);
-        return convertToResponseDto(savedCompany);
+        CompanyReadModel readModel = readModelService.saveCompany(savedCompany);
+        eventPublisher.publishEvent(new CompanyChangedEvent(null, CompanyDocument.of(savedCompany)));
+        return convertToResponseDto(readModel);
     }
 
     @Override
@@ -64,10 +114,11 @@ public class CompanyServiceImpl implements CompanyService {
     public CompanyResponseDto updateCompany(Long id, CompanyRequestDto requestDto) {
         Company company = companyRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Company not found with id: " + id));
+        CompanyDocument previous = CompanyDocument.of(company);
 
         // Check if registration number is being changed and if it already exists
         if (!company.getRegistrationNumber().equals(requestDto.getRegistrationNumber())) {
-            if (companyRepository.findByRegistrationNumber(requestDto.getRegistrationNumber()).isPresent()) {
+            if (companyRepository.existsByRegistrationNumber(requestDto.getRegistrationNumber())) {
                 throw new RuntimeException("Company with this registration number already exists");
             }
         }
@@ -96,76 +147,215 @@ public class CompanyServiceImpl implements CompanyService {
         company.setCompanyDetails(details);
 
         Company updatedCompany = companyRepository.save(company);
-        return convertToResponseDto(updatedCompany);
+        CompanyReadModel readModel = readModelService.saveCompany(updatedCompany);
+        eventPublisher.publishEvent(new CompanyChangedEvent(previous, CompanyDocument.of(updatedCompany)));
+        return convertToResponseDto(readModel);
     }
 
     @Override
     public CompanyResponseDto getCompanyById(Long id) {
-        Company company = companyRepository.findById(id)
+        // By primary key so the read-model row comes from the second-level cache once it has been read
+        return companyReadModelRepository.findById(id)
+                .map(this::convertToResponseDto)
                 .orElseThrow(() -> new ResourceNotFoundException("Company not found with id: " + id));
-        return convertToResponseDto(company);
     }
 
     @Override
     public List<CompanyResponseDto> getAllCompanies() {
-        return companyRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"))
-                .stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        // Selected straight into DTOs: nothing is added to the persistence context, however many companies there are
+        return companyReadModelRepository.findAllResponses();
     }
 
     @Override
     public Page<CompanyResponseDto> searchCompanies(CompanySearchDto searchDto) {
+        // Identical requests share one cached or in-flight result. countMode is left out of the key: only pages with an
+        // exact total are cached (a timed-out count is never stored) and every committed write invalidates the cache.
+        // Only the query run counts against the statement timeout, waiting for an identical in-flight one does not.
+        return searchResultCache.companyPage(
+                () -> searchTimeouts.search(() -> runCompanySearch(searchDto)),
+                searchDto.getCompanyName(),
+                searchDto.getRegistrationNumber(),
+                searchDto.getCity(),
+                searchDto.getState(),
+                searchDto.getPrimaryContactEmail(),
+                searchDto.getEstablishedFrom(),
+                searchDto.getEstablishedTo(),
+                searchDto.getCreatedFrom(),
+                searchDto.getCreatedTo(),
+                SearchCountCache.matchModesKey(searchDto.getMatchMode(), searchDto.getMatchModes()),
+                SearchResultCache.verbatim(searchDto.getSortBy()), // the sort whitelist is case-sensitive
+                searchDto.getSortDirection(),
+                searchDto.getPage(),
+                searchDto.getSize(),
+                searchDto.isIncludeFacets()
+        );
+    }
+
+    private Page<CompanyResponseDto> runCompanySearch(CompanySearchDto searchDto) {
         // Create Pageable object based on page number, size, and sorting
         Pageable pageable = PageRequest.of(
                 searchDto.getPage(), // Page number (0-based)
                 searchDto.getSize(), // Page size
-                Sort.by(Sort.Direction.DESC, "createdAt") // Sort by createdAt in descending order
+                CompanySpecifications.sort(searchDto) // Requested sort, createdAt DESC by default
         );
 
-        // Call the repository method to search companies based on the provided criteria and pagination
-        Page<Company> companies = companyRepository.searchCompanies(
-                searchDto.getCompanyName(),
-                searchDto.getRegistrationNumber(),
-                searchDto.getCity(),
-                searchDto.getState(),
-                searchDto.getPrimaryContactEmail(),
-                pageable
+        // Total from the database (in its own timed transaction, it runs on another thread), or from a recent
+        // count of the same filters when the caller accepts that
+        Specification<CompanyReadModel> spec = CompanySpecifications.matching(searchDto);
+        LongSupplier countQuery = () -> searchTimeouts.search(() -> companyReadModelRepository.count(spec));
+        if (searchDto.getCountMode() == CountMode.CACHED) {
+            LongSupplier databaseCount = countQuery;
+            countQuery = () -> searchCountCache.companyCount(
+                    databaseCount,
+                    searchDto.getCompanyName(),
+                    searchDto.getRegistrationNumber(),
+                    searchDto.getCity(),
+                    searchDto.getState(),
+                    searchDto.getPrimaryContactEmail(),
+                    searchDto.getEstablishedFrom(),
+                    searchDto.getEstablishedTo(),
+                    searchDto.getCreatedFrom(),
+                    searchDto.getCreatedTo(),
+                    SearchCountCache.matchModesKey(searchDto.getMatchMode(), searchDto.getMatchModes())
+            );
+        }
+
+        // Page query and count query run at the same time on separate connections
+        Page<CompanyResponseDto> page = concurrentPageQuery.execute(
+                pageable,
+                () -> companyReadModelRepository.findResponseSlice(spec, pageable),
+                countQuery
         );
-        return companies.map(this::convertToResponseDto);
+        return searchDto.isIncludeFacets() ? new FacetedPage<>(page, locationFacets(searchDto, spec)) : page;
+    }
+
+    // State and city counts from the in-memory counters when only location filters (or none) are set,
+    // otherwise a GROUP BY over the same specification as the search
+    private FacetCountsDto locationFacets(CompanySearchDto searchDto, Specification<CompanyReadModel> spec) {
+        boolean locationFiltersOnly = searchDto.getCompanyName() == null
+                && searchDto.getRegistrationNumber() == null
+                && searchDto.getPrimaryContactEmail() == null
+                && searchDto.getEstablishedFrom() == null
+                && searchDto.getEstablishedTo() == null
+                && searchDto.getCreatedFrom() == null
+                && searchDto.getCreatedTo() == null;
+        if (locationFiltersOnly && locationFacetIndex.isReady()) {
+            Map<String, MatchMode> modes = searchDto.getMatchModes() != null ? searchDto.getMatchModes() : Map.of();
+            return locationFacetIndex.companyFacets(
+                    searchDto.getState(),
+                    modes.getOrDefault("state", searchDto.getMatchMode()),
+                    searchDto.getCity(),
+                    modes.getOrDefault("city", searchDto.getMatchMode())
+            );
+        }
+
+        int maxValues = locationFacetIndex.getMaxValues();
+        return new FacetCountsDto(
+                companyReadModelRepository.countGroupedBy(spec, "state", "stateNorm", maxValues),
+                companyReadModelRepository.countGroupedBy(spec, "city", "cityNorm", maxValues)
+        );
+    }
+
+    @Override
+    public Page<CompanyResponseDto> quickSearchCompanies(String query, int page, int size) {
+        if (page < 0 || size < 1 || size > 100) {
+            throw new IllegalArgumentException("Page must be 0 or more and size between 1 and 100");
+        }
+
+        // An empty search box lists everything
+        if (query == null || query.isBlank()) {
+            CompanySearchDto searchDto = new CompanySearchDto();
+            searchDto.setPage(page);
+            searchDto.setSize(size);
+            searchDto.setCountMode(CountMode.CACHED);
+            return searchCompanies(searchDto);
+        }
+
+        // Ranking is part of each query, so the page must not add its own sort.
+        // Company names often have several words, so a multi-word entry is matched as a whole like a single word.
+        Pageable pageable = PageRequest.of(page, size);
+        QuickSearchTerm term = QuickSearchTerm.classify(query);
+        String value = term.getTerm();
+        return searchTimeouts.quickSearch(() -> switch (term.getKind()) {
+            case EMAIL -> companyReadModelRepository.quickSearchByEmail(
+                    value, LikePatterns.prefix(value), LikePatterns.contains(value), pageable);
+            case IDENTIFIER -> companyReadModelRepository.quickSearchByRegistrationNumber(
+                    value, LikePatterns.prefix(value), LikePatterns.contains(value), pageable);
+            case FULL_NAME, WORD -> companyReadModelRepository.quickSearchByText(
+                    value, LikePatterns.prefix(value), LikePatterns.contains(value), pageable);
+        });
+    }
+
+    @Override
+    public Slice<CompanyResponseDto> searchCompaniesSlice(CompanySearchDto searchDto) {
+        Pageable pageable = PageRequest.of(
+                searchDto.getPage(),
+                searchDto.getSize(),
+                CompanySpecifications.sort(searchDto)
+        );
+
+        // hasNext only, no COUNT query
+        return searchTimeouts.search(
+                () -> companyReadModelRepository.findResponseSlice(CompanySpecifications.matching(searchDto), pageable));
+    }
+
+    @Override
+    public CursorPageDto<CompanyResponseDto> searchCompaniesByCursor(CompanySearchDto searchDto) {
+        // The cursor is a (createdAt, id) position, so it only works for that order
+        boolean defaultSort = (searchDto.getSortBy() == null || searchDto.getSortBy().equals("createdAt"))
+                && searchDto.getSortDirection() != Sort.Direction.ASC;
+        if (!defaultSort) {
+            throw new IllegalArgumentException("Cursor search only supports the default createdAt DESC order");
+        }
+        SearchCursor cursor = SearchCursor.decode(searchDto.getCursor());
+
+        // Seek past the cursor on the (created_at, id) index; the slice fetches one extra row instead of counting
+        Slice<CompanyReadModel> companies = searchTimeouts.search(() -> companyReadModelRepository.findSlice(
+                CompanySpecifications.matching(searchDto).and(CompanySpecifications.before(cursor)),
+                PageRequest.of(0, searchDto.getSize(), Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+        ));
+
+        boolean hasNext = companies.hasNext();
+        List<CompanyReadModel> page = companies.getContent();
+        String nextCursor = null;
+        if (hasNext) {
+            CompanyReadModel last = page.get(page.size() - 1);
+            nextCursor = new SearchCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        List<CompanyResponseDto> content = page.stream()
+                .map(this::convertToResponseDto)
+                .collect(Collectors.toList());
+        return new CursorPageDto<>(content, nextCursor, hasNext, content.size());
     }
 
     @Override
     @Transactional
     public void deleteCompany(Long id) {
-        if (!companyRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Company not found with id: " + id);
-        }
-        companyRepository.deleteById(id);
+        Company company = companyRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Company not found with id: " + id));
+        companyRepository.delete(company);
+        readModelService.deleteCompany(id);
+        eventPublisher.publishEvent(new CompanyChangedEvent(CompanyDocument.of(company), null));
     }
 
-    // Helper method to convert Company entity to CompanyResponseDto So that we can reuse it in multiple places and show consistent response structure
-    private CompanyResponseDto convertToResponseDto(Company company) {
+    // Helper method to convert a company read-model row to CompanyResponseDto; the row already holds the details columns
+    private CompanyResponseDto convertToResponseDto(CompanyReadModel company) {
         CompanyResponseDto dto = new CompanyResponseDto();
         dto.setId(company.getId());
         dto.setCompanyName(company.getCompanyName());
         dto.setRegistrationNumber(company.getRegistrationNumber());
         dto.setEstablishedOn(company.getEstablishedOn());
         dto.setWebsite(company.getWebsite());
-
-        if (company.getCompanyDetails() != null) {
-            CompanyDetails details = company.getCompanyDetails();
-            dto.setAddressLine1(details.getAddressLine1());
-            dto.setAddressLine2(details.getAddressLine2());
-            dto.setCity(details.getCity());
-            dto.setState(details.getState());
-            dto.setZipCode(details.getZipCode());
-            dto.setPrimaryContactFirstName(details.getPrimaryContactFirstName());
-            dto.setPrimaryContactLastName(details.getPrimaryContactLastName());
-            dto.setPrimaryContactEmail(details.getPrimaryContactEmail());
-            dto.setPrimaryContactMobile(details.getPrimaryContactMobile());
-        }
-
+        dto.setAddressLine1(company.getAddressLine1());
+        dto.setAddressLine2(company.getAddressLine2());
+        dto.setCity(company.getCity());
+        dto.setState(company.getState());
+        dto.setZipCode(company.getZipCode());
+        dto.setPrimaryContactFirstName(company.getPrimaryContactFirstName());
+        dto.setPrimaryContactLastName(company.getPrimaryContactLastName());
+        dto.setPrimaryContactEmail(company.getPrimaryContactEmail());
+        dto.setPrimaryContactMobile(company.getPrimaryContactMobile());
         return dto;
     }
 }
\ No newline at end of file
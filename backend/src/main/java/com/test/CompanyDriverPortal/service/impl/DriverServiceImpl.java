@@ -3,20 +3,51 @@ package com.test.CompanyDriverPortal.service.impl;
 import com.test.CompanyDriverPortal.dto.driver.DriverRequestDto;
 import com.test.CompanyDriverPortal.dto.driver.DriverResponseDto;
 import com.test.CompanyDriverPortal.dto.driver.DriverSearchDto;
+import com.test.CompanyDriverPortal.dto.search.CountMode;
+import com.test.CompanyDriverPortal.dto.search.CursorPageDto;
+import com.test.CompanyDriverPortal.dto.search.FacetCountsDto;
+import com.test.CompanyDriverPortal.dto.search.FacetedPage;
+import com.test.CompanyDriverPortal.dto.search.MatchMode;
 import com.test.CompanyDriverPortal.globalException.ResourceNotFoundException;
+import com.test.CompanyDriverPortal.globalException.ServiceUnavailableException;
 import com.test.CompanyDriverPortal.model.Driver;
 import com.test.CompanyDriverPortal.model.DriverDetails;
+import com.test.CompanyDriverPortal.model.DriverReadModel;
+import com.test.CompanyDriverPortal.repository.DriverReadModelRepository;
 import com.test.CompanyDriverPortal.repository.DriverRepository;
+import com.test.CompanyDriverPortal.repository.DriverSpecifications;
+import com.test.CompanyDriverPortal.search.ConcurrentPageQuery;
+import com.test.CompanyDriverPortal.search.DriverChangedEvent;
+import com.test.CompanyDriverPortal.search.DriverDocument;
+import com.test.CompanyDriverPortal.search.DriverNameFuzzyIndex;
+import com.test.CompanyDriverPortal.search.DriverTrigramIndex;
+import com.test.CompanyDriverPortal.search.LocationFacetIndex;
+import com.test.CompanyDriverPortal.search.QuickSearchTerm;
+import com.test.CompanyDriverPortal.search.SearchCountCache;
+import com.test.CompanyDriverPortal.search.SearchResultCache;
+import com.test.CompanyDriverPortal.search.SearchTimeouts;
 import com.test.CompanyDriverPortal.service.DriverService;
+import com.test.CompanyDriverPortal.service.ReadModelService;
+import com.test.CompanyDriverPortal.util.LikePatterns;
+import com.test.CompanyDriverPortal.util.SearchCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,17 +56,47 @@ public class DriverServiceImpl implements DriverService {
     @Autowired
     private DriverRepository driverRepository;
 
+    @Autowired
+    private DriverReadModelRepository driverReadModelRepository;
+
+    @Autowired
+    private ReadModelService readModelService;
+
+    @Autowired
+    private DriverTrigramIndex driverTrigramIndex;
+
+    @Autowired
+    private DriverNameFuzzyIndex driverNameFuzzyIndex;
+
+    @Autowired
+    private LocationFacetIndex locationFacetIndex;
+
+    @Autowired
+    private SearchCountCache searchCountCache;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private ConcurrentPageQuery concurrentPageQuery;
+
+    @Autowired
+    private SearchTimeouts searchTimeouts;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional
     public DriverResponseDto createDriver(DriverRequestDto requestDto) {
 
         // Check if email already exists
-        if (driverRepository.findByEmail(requestDto.getEmail()).isPresent()) {
+        if (driverRepository.existsByEmail(requestDto.getEmail())) {
             throw new RuntimeException("Driver with this email already exists");
         }
 
         // Check if license number already exists
-        if (driverRepository.findByLicenseNumber(requestDto.getLicenseNumber()).isPresent()) {
+        if (driverRepository.existsByLicenseNumber(requestDto.getLicenseNumber())) {
             throw new RuntimeException("Driver with this license number already exists");
         }
 
@@ -66,7 +127,9 @@ public class DriverServiceImpl implements DriverService {
         driver.setDriverDetails(details);
 
         Driver savedDriver = driverRepository.save(driver);
-        return convertToResponseDto(savedDriver);
+        DriverReadModel readModel = readModelService.saveDriver(savedDriver);
+        eventPublisher.publishEvent(new DriverChangedEvent(null, DriverDocument.of(savedDriver)));
+        return convertToResponseDto(readModel);
     }
 
     @Override
@@ -74,17 +137,18 @@ public class DriverServiceImpl implements DriverService {
     public DriverResponseDto updateDriver(Long id, DriverRequestDto requestDto) {
         Driver driver = driverRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + id));
+        DriverDocument previous = DriverDocument.of(driver);
 
         // Check if email is being changed and if it already exists
         if (!driver.getEmail().equals(requestDto.getEmail())) {
-            if (driverRepository.findByEmail(requestDto.getEmail()).isPresent()) {
+            if (driverRepository.existsByEmail(requestDto.getEmail())) {
                 throw new RuntimeException("Driver with this email already exists");
             }
         }
 
         // Check if license number is being changed and if it already exists
         if (!driver.getLicenseNumber().equals(requestDto.getLicenseNumber())) {
-            if (driverRepository.findByLicenseNumber(requestDto.getLicenseNumber()).isPresent()) {
+            if (driverRepository.existsByLicenseNumber(requestDto.getLicenseNumber())) {
                 throw new RuntimeException("Driver with this license number already exists");
             }
         }
@@ -112,58 +176,287 @@ public class DriverServiceImpl implements DriverService {
         driver.setDriverDetails(details);
 
         Driver updatedDriver = driverRepository.save(driver);
-        return convertToResponseDto(updatedDriver);
+        DriverReadModel readModel = readModelService.saveDriver(updatedDriver);
+        eventPublisher.publishEvent(new DriverChangedEvent(previous, DriverDocument.of(updatedDriver)));
+        return convertToResponseDto(readModel);
     }
 
     @Override
     public DriverResponseDto getDriverById(Long id) {
-        Driver driver = driverRepository.findById(id)
+        // By primary key so the read-model row comes from the second-level cache once it has been read
+        return driverReadModelRepository.findById(id)
+                .map(this::convertToResponseDto)
                 .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + id));
-        return convertToResponseDto(driver);
     }
 
     @Override
     public List<DriverResponseDto> getAllDrivers() {
-        return driverRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"))
-                .stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        // Selected straight into DTOs: nothing is added to the persistence context, however many drivers there are
+        return driverReadModelRepository.findAllResponses();
     }
 
     @Override
     public Page<DriverResponseDto> searchDrivers(DriverSearchDto searchDto) {
-        // Create Pageable object for pagination and sorting
-        Pageable pageable = PageRequest.of(
-                searchDto.getPage(),
-                searchDto.getSize(),
-                Sort.by(Sort.Direction.DESC, "createdAt")
-        );
-
-        // Call the repository method to search drivers based on the provided criteria
-        Page<Driver> drivers = driverRepository.searchDrivers(
+        // Identical requests share one cached or in-flight result. countMode is left out of the key: only pages with an
+        // exact total are cached (a timed-out count is never stored) and every committed write invalidates the cache.
+        // Only the query run counts against the statement timeout, waiting for an identical in-flight one does not.
+        return searchResultCache.driverPage(
+                () -> searchTimeouts.search(() -> runDriverSearch(searchDto)),
                 searchDto.getFirstName(),
                 searchDto.getLastName(),
                 searchDto.getEmail(),
                 searchDto.getLicenseNumber(),
                 searchDto.getCity(),
                 searchDto.getState(),
-                pageable
+                searchDto.getExperienceYearsMin(),
+                searchDto.getExperienceYearsMax(),
+                searchDto.getDateOfBirthFrom(),
+                searchDto.getDateOfBirthTo(),
+                searchDto.getCreatedFrom(),
+                searchDto.getCreatedTo(),
+                SearchCountCache.matchModesKey(searchDto.getMatchMode(), searchDto.getMatchModes()),
+                SearchResultCache.verbatim(searchDto.getSortBy()), // the sort whitelist is case-sensitive
+                searchDto.getSortDirection(),
+                searchDto.getPage(),
+                searchDto.getSize(),
+                searchDto.isIncludeFacets()
         );
+    }
 
-        return drivers.map(this::convertToResponseDto);
+    private Page<DriverResponseDto> runDriverSearch(DriverSearchDto searchDto) {
+        // Create Pageable object for pagination and sorting
+        Pageable pageable = PageRequest.of(
+                searchDto.getPage(),
+                searchDto.getSize(),
+                DriverSpecifications.sort(searchDto)
+        );
+
+        Page<DriverResponseDto> page;
+        if (canUseTrigramIndex(searchDto)) {
+            // Serve the search from the in-memory trigram index when it is built, the database only loads the page of ids
+            DriverTrigramIndex.SearchResult result = driverTrigramIndex.search(
+                    searchDto,
+                    (int) pageable.getOffset(),
+                    pageable.getPageSize()
+            );
+            page = new PageImpl<>(loadInOrder(result.getDriverIds()), pageable, result.getTotal());
+        } else {
+            Specification<DriverReadModel> spec = DriverSpecifications.matching(searchDto);
+
+            // Total from the database (in its own timed transaction, it runs on another thread), or from a recent
+            // count of the same filters when the caller accepts that. The unfiltered total (the default list) is
+            // always taken from the cache: it is dropped on every driver write, so it is never stale.
+            LongSupplier countQuery = () -> searchTimeouts.search(() -> driverReadModelRepository.count(spec));
+            if (searchDto.getCountMode() == CountMode.CACHED || hasNoFilters(searchDto)) {
+                LongSupplier databaseCount = countQuery;
+                countQuery = () -> searchCountCache.driverCount(
+                        databaseCount,
+                        searchDto.getFirstName(),
+                        searchDto.getLastName(),
+                        searchDto.getEmail(),
+                        searchDto.getLicenseNumber(),
+                        searchDto.getCity(),
+                        searchDto.getState(),
+                        searchDto.getExperienceYearsMin(),
+                        searchDto.getExperienceYearsMax(),
+                        searchDto.getDateOfBirthFrom(),
+                        searchDto.getDateOfBirthTo(),
+                        searchDto.getCreatedFrom(),
+                        searchDto.getCreatedTo(),
+                        SearchCountCache.matchModesKey(searchDto.getMatchMode(), searchDto.getMatchModes())
+                );
+            }
+
+            // Page query and count query run at the same time on separate connections
+            page = concurrentPageQuery.execute(
+                    pageable,
+                    () -> driverReadModelRepository.findResponseSlice(spec, pageable),
+                    countQuery
+            );
+        }
+
+        return searchDto.isIncludeFacets() ? new FacetedPage<>(page, locationFacets(searchDto)) : page;
+    }
+
+    // State and city counts from the in-memory counters when only location filters (or none) are set,
+    // otherwise a GROUP BY over the same specification as the search
+    private FacetCountsDto locationFacets(DriverSearchDto searchDto) {
+        boolean locationFiltersOnly = searchDto.getFirstName() == null
+                && searchDto.getLastName() == null
+                && searchDto.getEmail() == null
+                && searchDto.getLicenseNumber() == null
+                && !hasRangeFilters(searchDto);
+        if (locationFiltersOnly && locationFacetIndex.isReady()) {
+            Map<String, MatchMode> modes = searchDto.getMatchModes() != null ? searchDto.getMatchModes() : Map.of();
+            return locationFacetIndex.driverFacets(
+                    searchDto.getState(),
+                    modes.getOrDefault("state", searchDto.getMatchMode()),
+                    searchDto.getCity(),
+                    modes.getOrDefault("city", searchDto.getMatchMode())
+            );
+        }
+
+        Specification<DriverReadModel> spec = DriverSpecifications.matching(searchDto);
+        int maxValues = locationFacetIndex.getMaxValues();
+        return new FacetCountsDto(
+                driverReadModelRepository.countGroupedBy(spec, "state", "stateNorm", maxValues),
+                driverReadModelRepository.countGroupedBy(spec, "city", "cityNorm", maxValues)
+        );
+    }
+
+    @Override
+    public Page<DriverResponseDto> quickSearchDrivers(String query, int page, int size) {
+        if (page < 0 || size < 1 || size > 100) {
+            throw new IllegalArgumentException("Page must be 0 or more and size between 1 and 100");
+        }
+
+        // An empty search box lists everything
+        if (query == null || query.isBlank()) {
+            DriverSearchDto searchDto = new DriverSearchDto();
+            searchDto.setPage(page);
+            searchDto.setSize(size);
+            searchDto.setCountMode(CountMode.CACHED);
+            return searchDrivers(searchDto);
+        }
+
+        // Ranking is part of each query, so the page must not add its own sort
+        Pageable pageable = PageRequest.of(page, size);
+        QuickSearchTerm term = QuickSearchTerm.classify(query);
+        return searchTimeouts.quickSearch(() -> switch (term.getKind()) {
+            case EMAIL -> driverReadModelRepository.quickSearchByEmail(
+                    term.getTerm(), LikePatterns.prefix(term.getTerm()), LikePatterns.contains(term.getTerm()), pageable);
+            case IDENTIFIER -> driverReadModelRepository.quickSearchByLicenseNumber(
+                    term.getTerm(), LikePatterns.prefix(term.getTerm()), LikePatterns.contains(term.getTerm()), pageable);
+            case FULL_NAME -> driverReadModelRepository.quickSearchByFullName(
+                    term.getFirstWord(), LikePatterns.prefix(term.getFirstWord()), LikePatterns.contains(term.getFirstWord()),
+                    term.getSecondWord(), LikePatterns.prefix(term.getSecondWord()), LikePatterns.contains(term.getSecondWord()),
+                    pageable);
+            case WORD -> driverReadModelRepository.quickSearchByWord(
+                    term.getTerm(), LikePatterns.prefix(term.getTerm()), LikePatterns.contains(term.getTerm()), pageable);
+        });
+    }
+
+    @Override
+    public List<DriverResponseDto> fuzzySearchDrivers(String name, int limit) {
+        if (limit < 1 || limit > 100) {
+            throw new IllegalArgumentException("Limit must be between 1 and 100");
+        }
+        if (!driverNameFuzzyIndex.isReady()) {
+            throw new ServiceUnavailableException("Fuzzy name search is still being prepared, please retry shortly", 5);
+        }
+        // Closest spelling first; the database only loads the drivers that made the cut
+        return loadInOrder(driverNameFuzzyIndex.search(name, limit));
+    }
+
+    @Override
+    public Slice<DriverResponseDto> searchDriversSlice(DriverSearchDto searchDto) {
+        Pageable pageable = PageRequest.of(
+                searchDto.getPage(),
+                searchDto.getSize(),
+                DriverSpecifications.sort(searchDto)
+        );
+
+        if (canUseTrigramIndex(searchDto)) {
+            DriverTrigramIndex.SearchResult result = driverTrigramIndex.search(
+                    searchDto,
+                    (int) pageable.getOffset(),
+                    pageable.getPageSize()
+            );
+            boolean hasNext = pageable.getOffset() + result.getDriverIds().size() < result.getTotal();
+            return new SliceImpl<>(searchTimeouts.search(() -> loadInOrder(result.getDriverIds())), pageable, hasNext);
+        }
+
+        // hasNext only, no COUNT query
+        return searchTimeouts.search(
+                () -> driverReadModelRepository.findResponseSlice(DriverSpecifications.matching(searchDto), pageable));
+    }
+
+    @Override
+    public CursorPageDto<DriverResponseDto> searchDriversByCursor(DriverSearchDto searchDto) {
+        if (!isDefaultSort(searchDto)) {
+            throw new IllegalArgumentException("Cursor search only supports the default createdAt DESC order");
+        }
+        SearchCursor cursor = SearchCursor.decode(searchDto.getCursor());
+
+        // Seek past the cursor on the (created_at, id) index; the slice fetches one extra row instead of counting
+        Slice<DriverReadModel> drivers = searchTimeouts.search(() -> driverReadModelRepository.findSlice(
+                DriverSpecifications.matching(searchDto).and(DriverSpecifications.before(cursor)),
+                PageRequest.of(0, searchDto.getSize(), Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+        ));
+
+        boolean hasNext = drivers.hasNext();
+        List<DriverReadModel> page = drivers.getContent();
+        String nextCursor = null;
+        if (hasNext) {
+            DriverReadModel last = page.get(page.size() - 1);
+            nextCursor = new SearchCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        List<DriverResponseDto> content = page.stream()
+                .map(this::convertToResponseDto)
+                .collect(Collectors.toList());
+        return new CursorPageDto<>(content, nextCursor, hasNext, content.size());
+    }
+
+    // The trigram index only implements the default CONTAINS matching, newest first, without range filters
+    private boolean canUseTrigramIndex(DriverSearchDto searchDto) {
+        return driverTrigramIndex.isReady()
+                && DriverTrigramIndex.canServe(searchDto)
+                && isDefaultSort(searchDto)
+                && !hasRangeFilters(searchDto)
+                && (searchDto.getMatchMode() == null || searchDto.getMatchMode() == MatchMode.CONTAINS)
+                && (searchDto.getMatchModes() == null
+                || searchDto.getMatchModes().values().stream().allMatch(mode -> mode == null || mode == MatchMode.CONTAINS));
+    }
+
+    private static boolean isDefaultSort(DriverSearchDto searchDto) {
+        return (searchDto.getSortBy() == null || searchDto.getSortBy().equals("createdAt"))
+                && searchDto.getSortDirection() != Sort.Direction.ASC;
+    }
+
+    private static boolean hasNoFilters(DriverSearchDto searchDto) {
+        return searchDto.getFirstName() == null
+                && searchDto.getLastName() == null
+                && searchDto.getEmail() == null
+                && searchDto.getLicenseNumber() == null
+                && searchDto.getCity() == null
+                && searchDto.getState() == null
+                && !hasRangeFilters(searchDto);
+    }
+
+    private static boolean hasRangeFilters(DriverSearchDto searchDto) {
+        return searchDto.getExperienceYearsMin() != null
+                || searchDto.getExperienceYearsMax() != null
+                || searchDto.getDateOfBirthFrom() != null
+                || searchDto.getDateOfBirthTo() != null
+                || searchDto.getCreatedFrom() != null
+                || searchDto.getCreatedTo() != null;
+    }
+
+    // Fetch the drivers for a page of ids and return them in the same order as the ids
+    private List<DriverResponseDto> loadInOrder(List<Long> ids) {
+        Map<Long, DriverResponseDto> driversById = driverReadModelRepository.findResponsesByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(DriverResponseDto::getId, Function.identity()));
+
+        return ids.stream()
+                .map(driversById::get)
+                .filter(Objects::nonNull) // deleted between the index lookup and the fetch
+                .collect(Collectors.toList());
     }
 
     @Override
     @Transactional
     public void deleteDriver(Long id) {
-        if (!driverRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Driver not found with id: " + id);
-        }
-        driverRepository.deleteById(id);
+        Driver driver = driverRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + id));
+        driverRepository.delete(driver);
+        readModelService.deleteDriver(id);
+        eventPublisher.publishEvent(new DriverChangedEvent(DriverDocument.of(driver), null));
     }
 
-    // Helper method to convert Driver entity to DriverResponseDto so that we can show the details in the response
-    private DriverResponseDto convertToResponseDto(Driver driver) {
+    // Helper method to convert a driver read-model row to DriverResponseDto; the row already holds the details columns
+    private DriverResponseDto convertToResponseDto(DriverReadModel driver) {
         DriverResponseDto dto = new DriverResponseDto();
         dto.setId(driver.getId());
         dto.setFirstName(driver.getFirstName());
@@ -173,16 +466,11 @@ public class DriverServiceImpl implements DriverService {
         dto.setDateOfBirth(driver.getDateOfBirth());
         dto.setLicenseNumber(driver.getLicenseNumber());
         dto.setExperienceYears(driver.getExperienceYears());
-
-        if (driver.getDriverDetails() != null) {
-            DriverDetails details = driver.getDriverDetails();
-            dto.setAddressLine1(details.getAddressLine1());
-            dto.setAddressLine2(details.getAddressLine2());
-            dto.setCity(details.getCity());
-            dto.setState(details.getState());
-            dto.setZipCode(details.getZipCode());
-        }
-
+        dto.setAddressLine1(driver.getAddressLine1());
+        dto.setAddressLine2(driver.getAddressLine2());
+        dto.setCity(driver.getCity());
+        dto.setState(driver.getState());
+        dto.setZipCode(driver.getZipCode());
         return dto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.test.CompanyDriverPortal.service.impl;
+
+import com.test.CompanyDriverPortal.model.Company;
+import com.test.CompanyDriverPortal.model.CompanyDetails;
+import com.test.CompanyDriverPortal.model.CompanyReadModel;
+import com.test.CompanyDriverPortal.model.Driver;
+import com.test.CompanyDriverPortal.model.DriverDetails;
+import com.test.CompanyDriverPortal.model.DriverReadModel;
+import com.test.CompanyDriverPortal.repository.CompanyReadModelRepository;
+import com.test.CompanyDriverPortal.repository.CompanyRepository;
+import com.test.CompanyDriverPortal.repository.DriverReadModelRepository;
+import com.test.CompanyDriverPortal.repository.DriverRepository;
+import com.test.CompanyDriverPortal.search.SearchCountCache;
+import com.test.CompanyDriverPortal.search.SearchResultCache;
+import com.test.CompanyDriverPortal.service.ReadModelService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Keeps the flat read tables in step with the normalized ones. save/delete join the caller's transaction, so a write
+// and its read-model row commit or roll back together.
+@Service
+public class ReadModelServiceImpl implements ReadModelService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadModelServiceImpl.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private DriverReadModelRepository driverReadModelRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private CompanyReadModelRepository companyReadModelRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private SearchCountCache searchCountCache;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public DriverReadModel saveDriver(Driver driver) {
+        return driverReadModelRepository.save(toReadModel(driver));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteDriver(Long id) {
+        driverReadModelRepository.deleteById(id);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public CompanyReadModel saveCompany(Company company) {
+        return companyReadModelRepository.save(toReadModel(company));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteCompany(Long id) {
+        companyReadModelRepository.deleteById(id);
+    }
+
+    // Upsert every driver in id-ordered batches, one transaction per batch, then drop rows whose driver is gone.
+    // Reads keep working throughout; each batch share-locks its source rows (see findWithDetailsAfter), so a driver
+    // written while its batch is in flight is never left with the older data. Cached search pages and totals are
+    // dropped at the end because the rebuilt rows publish no change events.
+    @Override
+    public long rebuildDrivers() {
+        long start = System.currentTimeMillis();
+        long rows = 0;
+        Long afterId = 0L;
+        List<Driver> batch;
+        do {
+            Long from = afterId;
+            batch = transactionTemplate.execute(status -> {
+                List<Driver> drivers = driverRepository.findWithDetailsAfter(from, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                driverReadModelRepository.saveAll(drivers.stream().map(this::toReadModel).collect(Collectors.toList()));
+                return drivers;
+            });
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+                rows += batch.size();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        int removed = transactionTemplate.execute(status -> driverReadModelRepository.deleteOrphans());
+        searchResultCache.invalidateDrivers();
+        searchCountCache.invalidateDrivers();
+        log.info("Driver read model rebuilt with {} rows ({} stale rows removed) in {} ms",
+                rows, removed, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    @Override
+    public long rebuildCompanies() {
+        long start = System.currentTimeMillis();
+        long rows = 0;
+        Long afterId = 0L;
+        List<Company> batch;
+        do {
+            Long from = afterId;
+            batch = transactionTemplate.execute(status -> {
+                List<Company> companies = companyRepository.findWithDetailsAfter(from, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                companyReadModelRepository.saveAll(companies.stream().map(this::toReadModel).collect(Collectors.toList()));
+                return companies;
+            });
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+                rows += batch.size();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        int removed = transactionTemplate.execute(status -> companyReadModelRepository.deleteOrphans());
+        searchResultCache.invalidateCompanies();
+        searchCountCache.invalidateCompanies();
+        log.info("Company read model rebuilt with {} rows ({} stale rows removed) in {} ms",
+                rows, removed, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    private DriverReadModel toReadModel(Driver driver) {
+        DriverReadModel row = new DriverReadModel();
+        row.setId(driver.getId());
+        row.setFirstName(driver.getFirstName());
+        row.setLastName(driver.getLastName());
+        row.setEmail(driver.getEmail());
+        row.setMobile(driver.getMobile());
+        row.setDateOfBirth(driver.getDateOfBirth());
+        row.setLicenseNumber(driver.getLicenseNumber());
+        row.setExperienceYears(driver.getExperienceYears());
+        row.setCreatedAt(driver.getCreatedAt());
+
+        DriverDetails details = driver.getDriverDetails();
+        if (details != null) {
+            row.setAddressLine1(details.getAddressLine1());
+            row.setAddressLine2(details.getAddressLine2());
+            row.setCity(details.getCity());
+            row.setState(details.getState());
+            row.setZipCode(details.getZipCode());
+        }
+        return row;
+    }
+
+    private CompanyReadModel toReadModel(Company company) {
+        CompanyReadModel row = new CompanyReadModel();
+        row.setId(company.getId());
+        row.setCompanyName(company.getCompanyName());
+        row.setRegistrationNumber(company.getRegistrationNumber());
+        row.setEstablishedOn(company.getEstablishedOn());
+        row.setWebsite(company.getWebsite());
+        row.setCreatedAt(company.getCreatedAt());
+
+        CompanyDetails details = company.getCompanyDetails();
+        if (details != null) {
+            row.setAddressLine1(details.getAddressLine1());
+            row.setAddressLine2(details.getAddressLine2());
+            row.setCity(details.getCity());
+            row.setState(details.getState());
+            row.setZipCode(details.getZipCode());
+            row.setPrimaryContactFirstName(details.getPrimaryContactFirstName());
+            row.setPrimaryContactLastName(details.getPrimaryContactLastName());
+            row.setPrimaryContactEmail(details.getPrimaryContactEmail());
+            row.setPrimaryContactMobile(details.getPrimaryContactMobile());
+        }
+        return row;
+    }
+}
@@ -0,0 +1,51 @@
+package com.test.CompanyDriverPortal.service.impl;
+
+import com.test.CompanyDriverPortal.dto.search.SearchHitDto;
+import com.test.CompanyDriverPortal.dto.search.SearchHitType;
+import com.test.CompanyDriverPortal.dto.search.SuggestField;
+import com.test.CompanyDriverPortal.dto.search.SuggestionDto;
+import com.test.CompanyDriverPortal.search.LuceneSearchIndex;
+import com.test.CompanyDriverPortal.search.SuggestionIndex;
+import com.test.CompanyDriverPortal.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private LuceneSearchIndex luceneSearchIndex;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Override
+    public List<SearchHitDto> search(String query, Set<SearchHitType> types, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return luceneSearchIndex.search(query, types, limit);
+    }
+
+    @Override
+    public long rebuildIndex() {
+        return luceneSearchIndex.rebuild();
+    }
+
+    @Override
+    public List<SuggestionDto> suggest(SuggestField field, String prefix, int limit) {
+        if (limit < 1 || limit > suggestionIndex.getTopK()) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + suggestionIndex.getTopK());
+        }
+        return suggestionIndex.suggest(field, prefix, limit)
+                .stream()
+                .map(suggestion -> new SuggestionDto(suggestion.getText(), suggestion.getWeight()))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,5 +1,7 @@
 package com.test.CompanyDriverPortal.service.impl;
 
+import com.test.CompanyDriverPortal.config.TokenEpochTable;
+import com.test.CompanyDriverPortal.config.UserStateCache;
 import com.test.CompanyDriverPortal.dto.user.UserResponseDto;
 import com.test.CompanyDriverPortal.model.User;
 import com.test.CompanyDriverPortal.repository.UserRepository;
@@ -13,9 +15,13 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserStateCache userStateCache;
+    private final TokenEpochTable tokenEpochTable;
 
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, UserStateCache userStateCache, TokenEpochTable tokenEpochTable) {
         this.userRepository = userRepository;
+        this.userStateCache = userStateCache;
+        this.tokenEpochTable = tokenEpochTable;
     }
 
     @Override
@@ -44,6 +50,10 @@ public class UserServiceImpl implements UserService {
 
         // Hard delete
         userRepository.delete(user);
+
+        // Evict cached auth state and the token epoch so the deleted user's tokens stop working immediately
+        userStateCache.evict(user.getUsername());
+        tokenEpochTable.remove(user.getId());
     }
 
     @Override
@@ -56,8 +66,13 @@ public class UserServiceImpl implements UserService {
             throw new RuntimeException("Super Admin cannot change their own role");
         }
 
-        // Update role
+        // Update role and bump the token epoch so tokens issued with the old role are revoked
         user.setRole(User.Role.valueOf(role.toUpperCase()));
+        user.setTokenEpoch(user.getTokenEpoch() + 1);
         userRepository.save(user);
+
+        // Evict cached auth state and publish the new epoch so tokens carrying the old role are rejected from the next request
+        userStateCache.evict(user.getUsername());
+        tokenEpochTable.put(user.getId(), user.getTokenEpoch());
     }
 }
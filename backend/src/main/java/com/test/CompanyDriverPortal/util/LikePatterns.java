@@ -0,0 +1,23 @@
+package com.test.CompanyDriverPortal.util;
+
+// Builds LIKE patterns from user input. '%', '_' and the escape character itself are escaped, so queries
+// using these patterns must declare ESCAPE '!'.
+public final class LikePatterns {
+
+    public static final char ESCAPE = '!';
+
+    private LikePatterns() {
+    }
+
+    public static String contains(String value) {
+        return "%" + escape(value) + "%";
+    }
+
+    public static String prefix(String value) {
+        return escape(value) + "%";
+    }
+
+    private static String escape(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
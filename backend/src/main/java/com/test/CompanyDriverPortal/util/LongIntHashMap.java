@@ -0,0 +1,138 @@
+package com.test.CompanyDriverPortal.util;
+
+import java.util.Arrays;
+
+// Open-addressing hash map from primitive long keys to primitive int values.
+// Avoids boxing so lookups never allocate. Not thread-safe: callers guard writes themselves.
+public class LongIntHashMap {
+
+    private static final long EMPTY_KEY = 0L; // 0 is never a valid IDENTITY id, so it marks a free slot
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final int missingValue;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int resizeThreshold;
+
+    public LongIntHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    // Return the value for the key, or the missing value given at construction time.
+    // The arrays are read once into locals so a concurrent resize can only produce a miss, never an exception.
+    public int get(long key) {
+        long[] k = keys;
+        int[] v = values;
+        if (key == EMPTY_KEY || k.length != v.length) {
+            return missingValue;
+        }
+
+        int mask = k.length - 1;
+        int index = slot(key, mask);
+        while (k[index] != EMPTY_KEY) {
+            if (k[index] == key) {
+                return v[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    public void put(long key, int value) {
+        if (key == EMPTY_KEY) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+
+        int mask = keys.length - 1;
+        int index = slot(key, mask);
+        while (keys[index] != EMPTY_KEY) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            resize();
+        }
+    }
+
+    // Remove with backward-shift deletion so linear probing never needs tombstones
+    public void remove(long key) {
+        if (key == EMPTY_KEY) {
+            return;
+        }
+
+        int mask = keys.length - 1;
+        int index = slot(key, mask);
+        while (keys[index] != key) {
+            if (keys[index] == EMPTY_KEY) {
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY_KEY) {
+            int home = slot(keys[next], mask);
+            // Move the entry into the gap only if its home slot is not between the gap and its current slot
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY_KEY;
+        values[gap] = 0;
+        size--;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+
+        long[] newKeys = new long[oldKeys.length << 1];
+        int[] newValues = new int[oldValues.length << 1];
+        int mask = newKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                int index = slot(oldKeys[i], mask);
+                while (newKeys[index] != EMPTY_KEY) {
+                    index = (index + 1) & mask;
+                }
+                newKeys[index] = oldKeys[i];
+                newValues[index] = oldValues[i];
+            }
+        }
+
+        values = newValues;
+        keys = newKeys;
+        resizeThreshold = (int) (newKeys.length * LOAD_FACTOR);
+    }
+
+    // Fibonacci hashing spreads sequential ids across the table
+    private static int slot(long key, int mask) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,15 @@
+package com.test.CompanyDriverPortal.util;
+
+import java.util.Locale;
+
+// The one normalization used for searchable text: the *_norm shadow columns, the filter values compared against
+// them, and the in-memory indexes all go through here so they agree on what matches.
+public final class SearchText {
+
+    private SearchText() {
+    }
+
+    public static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : null;
+    }
+}
@@ -0,0 +1,77 @@
+package com.test.CompanyDriverPortal.util;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keyed token-bucket rate limiter implemented as GCRA (generic cell rate algorithm).
+// Each key's bucket is a single AtomicLong holding its "theoretical arrival time", updated with CAS,
+// so there is no lock; ConcurrentHashMap stripes the keys. A bucket whose arrival time has passed
+// is full again and carries no state, which is what lets idle buckets be evicted safely.
+public class TokenBucketRateLimiter {
+
+    private final long emissionIntervalNanos; // time to refill one token
+    private final long capacityNanos;         // bucket capacity expressed as time (burst * interval)
+    private final int maxKeys;
+    private final long sweepIntervalNanos;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepAt;
+
+    public TokenBucketRateLimiter(int requestsPerMinute, int burst, int maxKeys, Duration sweepInterval) {
+        if (requestsPerMinute <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("requestsPerMinute and burst must be positive");
+        }
+        this.emissionIntervalNanos = Duration.ofMinutes(1).toNanos() / requestsPerMinute;
+        this.capacityNanos = emissionIntervalNanos * burst;
+        this.maxKeys = maxKeys;
+        this.sweepIntervalNanos = sweepInterval.toNanos();
+        this.nextSweepAt = new AtomicLong(System.nanoTime() + sweepIntervalNanos);
+    }
+
+    // Take one token for the key. Returns 0 when allowed, otherwise the nanoseconds until a token is available.
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        maybeSweep(now);
+
+        AtomicLong arrivalTime = buckets.get(key);
+        if (arrivalTime == null) {
+            if (buckets.size() >= maxKeys) {
+                sweep(now);
+                if (buckets.size() >= maxKeys) {
+                    return emissionIntervalNanos; // too many active clients, refuse new keys until buckets drain
+                }
+            }
+            arrivalTime = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long current = arrivalTime.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long excess = next - now - capacityNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (arrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    // Sweep at most once per interval; the CAS makes sure only one caller does it
+    private void maybeSweep(long now) {
+        long due = nextSweepAt.get();
+        if (now - due >= 0 && nextSweepAt.compareAndSet(due, now + sweepIntervalNanos)) {
+            sweep(now);
+        }
+    }
+
+    // Drop buckets that have refilled completely, they are indistinguishable from a new bucket
+    private void sweep(long now) {
+        buckets.values().removeIf(arrivalTime -> arrivalTime.get() - now <= 0);
+    }
+}
@@ -0,0 +1,224 @@
+package com.test.CompanyDriverPortal.repository;
+
+import com.test.CompanyDriverPortal.dto.company.CompanySearchDto;
+import com.test.CompanyDriverPortal.dto.driver.DriverSearchDto;
+import com.test.CompanyDriverPortal.model.Company;
+import com.test.CompanyDriverPortal.model.CompanyDetails;
+import com.test.CompanyDriverPortal.model.CompanyReadModel;
+import com.test.CompanyDriverPortal.model.Driver;
+import com.test.CompanyDriverPortal.model.DriverDetails;
+import com.test.CompanyDriverPortal.model.DriverReadModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Counts the SQL statements behind each driver/company endpoint's repository calls, so an N+1 on the
+// details association (or on the read model) shows up as a failing count instead of a slow page
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class StatementCountTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private DriverReadModelRepository driverReadModelRepository;
+
+    @Autowired
+    private CompanyReadModelRepository companyReadModelRepository;
+
+    private Statistics statistics;
+    private Long firstDriverId;
+    private Long firstCompanyId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < ROWS; i++) {
+            Driver driver = driverRepository.save(driver(i));
+            Company company = companyRepository.save(company(i));
+            driverReadModelRepository.save(driverReadModel(driver));
+            companyReadModelRepository.save(companyReadModel(company));
+            if (i == 0) {
+                firstDriverId = driver.getId();
+                firstCompanyId = company.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // PUT/DELETE /api/drivers/{id}
+    @Test
+    void driverFindByIdLoadsDetailsInOneStatement() {
+        Driver driver = countStatements(1, () -> driverRepository.findById(firstDriverId).orElseThrow());
+        assertNotNull(countStatements(0, driver::getDriverDetails).getCity());
+    }
+
+    // PUT/DELETE /api/companies/{id}
+    @Test
+    void companyFindByIdLoadsDetailsInOneStatement() {
+        Company company = countStatements(1, () -> companyRepository.findById(firstCompanyId).orElseThrow());
+        assertNotNull(countStatements(0, company::getCompanyDetails).getCity());
+    }
+
+    @Test
+    void findAllLoadsDetailsInOneStatement() {
+        assertEquals(ROWS, countStatements(1, () -> driverRepository.findAll()).size());
+        assertEquals(ROWS, countStatements(1, () -> companyRepository.findAll()).size());
+    }
+
+    // POST /api/drivers and PUT /api/drivers/{id} uniqueness checks
+    @Test
+    void uniquenessChecksDoNotLoadEntities() {
+        countStatements(1, () -> driverRepository.existsByEmail("driver0@example.com"));
+        countStatements(1, () -> driverRepository.existsByLicenseNumber("LIC-0"));
+        countStatements(1, () -> companyRepository.existsByRegistrationNumber("REG-0"));
+    }
+
+    // POST /api/read-model/rebuild
+    @Test
+    void readModelRebuildBatchIsOneStatement() {
+        Pageable batch = PageRequest.of(0, 100);
+        List<Driver> drivers = countStatements(1, () -> driverRepository.findWithDetailsAfter(0L, batch));
+        List<Company> companies = countStatements(1, () -> companyRepository.findWithDetailsAfter(0L, batch));
+        countStatements(0, () -> drivers.stream().map(Driver::getDriverDetails).map(DriverDetails::getCity).toList());
+        countStatements(0, () -> companies.stream().map(Company::getCompanyDetails).map(CompanyDetails::getCity).toList());
+    }
+
+    // GET /api/drivers and GET /api/companies: one statement, selected into DTOs without loading entities
+    @Test
+    void listEndpointsAreOneStatement() {
+        assertEquals(ROWS, countStatements(1, () -> driverReadModelRepository.findAllResponses()).size());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(ROWS, countStatements(1, () -> companyReadModelRepository.findAllResponses()).size());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    // POST /api/drivers/search: the page and the count, nothing per row
+    @Test
+    void driverSearchPageIsOneStatementPlusCount() {
+        DriverSearchDto searchDto = new DriverSearchDto();
+        searchDto.setSize(2);
+        Pageable pageable = PageRequest.of(0, searchDto.getSize(), DriverSpecifications.sort(searchDto));
+
+        assertEquals(2, countStatements(1, () -> driverReadModelRepository.findResponseSlice(
+                DriverSpecifications.matching(searchDto), pageable)).getNumberOfElements());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(ROWS, countStatements(1, () -> driverReadModelRepository.count(DriverSpecifications.matching(searchDto))));
+    }
+
+    // POST /api/companies/search: the page and the count, nothing per row
+    @Test
+    void companySearchPageIsOneStatementPlusCount() {
+        CompanySearchDto searchDto = new CompanySearchDto();
+        searchDto.setSize(2);
+        Pageable pageable = PageRequest.of(0, searchDto.getSize(), CompanySpecifications.sort(searchDto));
+
+        assertEquals(2, countStatements(1, () -> companyReadModelRepository.findResponseSlice(
+                CompanySpecifications.matching(searchDto), pageable)).getNumberOfElements());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(ROWS, countStatements(1, () -> companyReadModelRepository.count(CompanySpecifications.matching(searchDto))));
+    }
+
+    private <T> T countStatements(long expected, Supplier<T> work) {
+        statistics.clear();
+        T result = work.get();
+        assertEquals(expected, statistics.getPrepareStatementCount(), "SQL statements executed");
+        return result;
+    }
+
+    private static Driver driver(int i) {
+        Driver driver = new Driver();
+        driver.setFirstName("First" + i);
+        driver.setLastName("Last" + i);
+        driver.setEmail("driver" + i + "@example.com");
+        driver.setMobile("555000" + i);
+        driver.setDateOfBirth(LocalDate.of(1990, 1, 1).plusDays(i));
+        driver.setLicenseNumber("LIC-" + i);
+
+        DriverDetails details = new DriverDetails();
+        details.setDriver(driver);
+        details.setAddressLine1(i + " Main Street");
+        details.setCity("City" + i);
+        details.setState("State" + i);
+        details.setZipCode("1000" + i);
+        driver.setDriverDetails(details);
+        return driver;
+    }
+
+    private static Company company(int i) {
+        Company company = new Company();
+        company.setCompanyName("Company " + i);
+        company.setRegistrationNumber("REG-" + i);
+
+        CompanyDetails details = new CompanyDetails();
+        details.setCompany(company);
+        details.setAddressLine1(i + " Market Street");
+        details.setCity("City" + i);
+        details.setState("State" + i);
+        details.setZipCode("2000" + i);
+        details.setPrimaryContactFirstName("Contact" + i);
+        details.setPrimaryContactLastName("Person" + i);
+        details.setPrimaryContactEmail("contact" + i + "@example.com");
+        details.setPrimaryContactMobile("555100" + i);
+        company.setCompanyDetails(details);
+        return company;
+    }
+
+    private static DriverReadModel driverReadModel(Driver driver) {
+        DriverReadModel readModel = new DriverReadModel();
+        readModel.setId(driver.getId());
+        readModel.setFirstName(driver.getFirstName());
+        readModel.setLastName(driver.getLastName());
+        readModel.setEmail(driver.getEmail());
+        readModel.setMobile(driver.getMobile());
+        readModel.setDateOfBirth(driver.getDateOfBirth());
+        readModel.setLicenseNumber(driver.getLicenseNumber());
+        readModel.setCity(driver.getDriverDetails().getCity());
+        readModel.setState(driver.getDriverDetails().getState());
+        readModel.setCreatedAt(LocalDateTime.now());
+        return readModel;
+    }
+
+    private static CompanyReadModel companyReadModel(Company company) {
+        CompanyReadModel readModel = new CompanyReadModel();
+        readModel.setId(company.getId());
+        readModel.setCompanyName(company.getCompanyName());
+        readModel.setRegistrationNumber(company.getRegistrationNumber());
+        readModel.setCity(company.getCompanyDetails().getCity());
+        readModel.setState(company.getCompanyDetails().getState());
+        readModel.setCreatedAt(LocalDateTime.now());
+        return readModel;
+    }
+}
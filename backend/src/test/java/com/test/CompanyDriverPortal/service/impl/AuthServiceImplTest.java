@@ -0,0 +1,97 @@
+package com.test.CompanyDriverPortal.service.impl;
+
+import com.test.CompanyDriverPortal.config.CustomUserDetailsService;
+import com.test.CompanyDriverPortal.config.JwtUtil;
+import com.test.CompanyDriverPortal.config.TokenEpochTable;
+import com.test.CompanyDriverPortal.dto.auth.LoginRequest;
+import com.test.CompanyDriverPortal.dto.auth.LoginResponse;
+import com.test.CompanyDriverPortal.model.User;
+import com.test.CompanyDriverPortal.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private TokenEpochTable tokenEpochTable;
+
+    @InjectMocks
+    private AuthServiceImpl authService;
+
+    private User storedUser;
+
+    @BeforeEach
+    void setUp() {
+        // Real authentication chain (provider + user details service) on top of the mocked repository,
+        // so every users-table read made during login goes through the repository mock and can be counted
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(encoder);
+        ReflectionTestUtils.setField(authService, "authenticationManager", new ProviderManager(provider));
+
+        storedUser = new User();
+        storedUser.setId(7L);
+        storedUser.setUsername("dispatcher");
+        storedUser.setEmail("dispatcher@example.com");
+        storedUser.setPassword(encoder.encode("secret123"));
+        storedUser.setRole(User.Role.ADMIN);
+        storedUser.setActive(true);
+        storedUser.setTokenEpoch(3);
+    }
+
+    @Test
+    void loginReadsTheUserExactlyOnce() {
+        when(userRepository.findByUsername("dispatcher")).thenReturn(Optional.of(storedUser));
+        when(jwtUtil.generateToken(7L, "dispatcher", "ADMIN", 3)).thenReturn("signed-token");
+
+        LoginResponse response = authService.login(new LoginRequest("dispatcher", "secret123"));
+
+        assertEquals("signed-token", response.getToken());
+        assertEquals("dispatcher@example.com", response.getEmail());
+        assertEquals("ADMIN", response.getRole());
+        verify(userRepository, times(1)).findByUsername("dispatcher");
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void loginWithWrongPasswordReadsTheUserOnceAndIssuesNoToken() {
+        when(userRepository.findByUsername("dispatcher")).thenReturn(Optional.of(storedUser));
+
+        assertThrows(BadCredentialsException.class,
+                () -> authService.login(new LoginRequest("dispatcher", "wrong-password")));
+
+        verify(userRepository, times(1)).findByUsername("dispatcher");
+        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(jwtUtil);
+    }
+}
@@ -88,83 +88,31 @@ export const companyApi = {
     }
   },
 
-  // Uses POST /api/companies/search for server-side search + pagination.
-  // Assumes a Spring Data–style response:
-  // { content: Company[]; totalPages: number; totalElements: number; ... }
+  // Uses GET /api/companies/quick-search: the server classifies the search term (email, number, name, ...),
+  // matches all relevant fields in one ranked query and returns a Spring Data page.
   async search(params: CompanySearchParams): Promise<CompanySearchResult> {
-    const searchTerm = (params.search ?? '').trim();
-    const page = params.page ?? 0;
-    const size = params.size ?? 10;
-
-    // Helper to call the backend with a specific filter.
-    const performSearch = async (payload: {
-      companyName?: string | null;
-      registrationNumber?: string | null;
-      city?: string | null;
-      state?: string | null;
-      primaryContactEmail?: string | null;
-    }): Promise<CompanySearchResult> => {
-      const res = await fetch(`${BASE_URL}/api/companies/search`, {
-        method: 'POST',
-        headers: getAuthHeaders(),
-        body: JSON.stringify({
-          companyName: null,
-          registrationNumber: null,
-          city: null,
-          state: null,
-          primaryContactEmail: null,
-          page,
-          size,
-          ...payload,
-        }),
-      });
-
-      if (!res.ok) {
-        throw new Error('Failed to search companies');
-      }
-
-      const data = await res.json();
-
-      const companies: Company[] =
-        (data?.content as Company[] | undefined) ??
-        (data?.items as Company[] | undefined) ??
-        (data as Company[] | undefined) ??
-        [];
-
-      const totalPages: number = typeof data?.totalPages === 'number' ? data.totalPages : 1;
-      const totalElements: number =
-        typeof data?.totalElements === 'number' ? data.totalElements : companies.length;
-
-      return { companies, totalPages, totalElements };
-    };
-
-    // Empty search ⇒ no filters, just pagination.
-    if (!searchTerm) {
-      return performSearch({});
-    }
+    const query = new URLSearchParams({
+      q: (params.search ?? '').trim(),
+      page: String(params.page ?? 0),
+      size: String(params.size ?? 10),
+    });
 
-    // If it looks like an email, search by primaryContactEmail.
-    if (searchTerm.includes('@')) {
-      return performSearch({ primaryContactEmail: searchTerm });
-    }
+    const res = await fetch(`${BASE_URL}/api/companies/quick-search?${query}`, {
+      headers: getAuthHeaders(),
+    });
 
-    // If it contains digits, treat it as a registration number.
-    if (/\d/.test(searchTerm)) {
-      return performSearch({ registrationNumber: searchTerm });
+    if (!res.ok) {
+      throw new Error('Failed to search companies');
     }
 
-    // Otherwise, try name, then city, then state.
-    let result = await performSearch({ companyName: searchTerm });
-    if (result.companies.length > 0) {
-      return result;
-    }
+    const data = await res.json();
 
-    result = await performSearch({ city: searchTerm });
-    if (result.companies.length > 0) {
-      return result;
-    }
+    const companies: Company[] = (data?.content as Company[] | undefined) ?? [];
+    const totalPages: number = typeof data?.totalPages === 'number' ? data.totalPages : 1;
+    const totalElements: number =
+      typeof data?.totalElements === 'number' ? data.totalElements : companies.length;
 
-    return performSearch({ state: searchTerm });
+    return { companies, totalPages, totalElements };
   },
 };
 
@@ -88,92 +88,30 @@ export const driverApi = {
     }
   },
 
+  // Uses GET /api/drivers/quick-search: the server classifies the search term (email, number, name, ...),
+  // matches all relevant fields in one ranked query and returns a Spring Data page.
   async search(params: DriverSearchParams): Promise<DriverSearchResult> {
-    const searchTerm = (params.search ?? '').trim();
-    const page = params.page ?? 0;
-    const size = params.size ?? 10;
-
-    // Helper to actually call the backend with a specific filter.
-    const performSearch = async (payload: {
-      firstName?: string | null;
-      lastName?: string | null;
-      email?: string | null;
-      licenseNumber?: string | null;
-      city?: string | null;
-      state?: string | null;
-    }): Promise<DriverSearchResult> => {
-      const res = await fetch(`${BASE_URL}/api/drivers/search`, {
-        method: 'POST',
-        headers: getAuthHeaders(),
-        body: JSON.stringify({
-          firstName: null,
-          lastName: null,
-          email: null,
-          licenseNumber: null,
-          city: null,
-          state: null,
-          page,
-          size,
-          ...payload,
-        }),
-      });
-
-      if (!res.ok) {
-        throw new Error('Failed to search drivers');
-      }
-
-      const data = await res.json();
-
-      const drivers: Driver[] =
-        (data?.content as Driver[] | undefined) ??
-        (data?.items as Driver[] | undefined) ??
-        (data as Driver[] | undefined) ??
-        [];
-
-      const totalPages: number = typeof data?.totalPages === 'number' ? data.totalPages : 1;
-      const totalElements: number =
-        typeof data?.totalElements === 'number' ? data.totalElements : drivers.length;
-
-      return { drivers, totalPages, totalElements };
-    };
-
-    // Empty search = no filters, just pagination.
-    if (!searchTerm) {
-      return performSearch({});
-    }
-
-    // Heuristics based on the placeholder:
-    // "Search by name, license number, email, or city..."
-    if (searchTerm.includes('@')) {
-      // Looks like an email
-      return performSearch({ email: searchTerm });
-    }
+    const query = new URLSearchParams({
+      q: (params.search ?? '').trim(),
+      page: String(params.page ?? 0),
+      size: String(params.size ?? 10),
+    });
 
-    if (/\d/.test(searchTerm)) {
-      // Contains digits – likely a license number
-      return performSearch({ licenseNumber: searchTerm });
-    }
+    const res = await fetch(`${BASE_URL}/api/drivers/quick-search?${query}`, {
+      headers: getAuthHeaders(),
+    });
 
-    if (searchTerm.includes(' ')) {
-      // Two-part name like "Samuel John" → first + last
-      const [firstName, lastName] = searchTerm.split(/\s+/, 2);
-      return performSearch({
-        firstName: firstName || null,
-        lastName: lastName || null,
-      });
+    if (!res.ok) {
+      throw new Error('Failed to search drivers');
     }
 
-    // Single word: try firstName, then lastName, then city.
-    let result = await performSearch({ firstName: searchTerm });
-    if (result.drivers.length > 0) {
-      return result;
-    }
+    const data = await res.json();
 
-    result = await performSearch({ lastName: searchTerm });
-    if (result.drivers.length > 0) {
-      return result;
-    }
+    const drivers: Driver[] = (data?.content as Driver[] | undefined) ?? [];
+    const totalPages: number = typeof data?.totalPages === 'number' ? data.totalPages : 1;
+    const totalElements: number =
+      typeof data?.totalElements === 'number' ? data.totalElements : drivers.length;
 
-    return performSearch({ city: searchTerm });
+    return { drivers, totalPages, totalElements };
   },
 };